@@ -99,4 +99,19 @@ public interface ICommandDispatcher {
     void registerGlobalMiddleware(ICommandMiddleware middleware);
 
     void registerPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware);
+
+    /**
+     * This will register a middleware that runs before every command without blocking.
+     *
+     * @param middleware - The middleware you wish to add.
+     */
+    void registerAsyncGlobalMiddleware(IAsyncCommandMiddleware middleware);
+
+    /**
+     * This will register a middleware that runs before the commands in the plugin's namespace without blocking.
+     *
+     * @param plugin     - The plugin the middleware belongs to.
+     * @param middleware - The middleware you wish to add.
+     */
+    void registerAsyncPluginMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware);
 }
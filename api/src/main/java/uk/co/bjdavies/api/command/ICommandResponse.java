@@ -28,7 +28,6 @@ package uk.co.bjdavies.api.command;
 
 import discord4j.core.spec.EmbedCreateSpec;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Type;
@@ -102,5 +101,11 @@ public interface ICommandResponse {
      */
     boolean send(Type type, Object obj);
 
-    FluxProcessor<IResponse, IResponse> getResponses();
+    /**
+     * This will return every response that has been sent, once this has been called the responses will complete
+     * as soon as every send that is still in progress has finished.
+     *
+     * @return Flux
+     */
+    Flux<IResponse> getResponses();
 }
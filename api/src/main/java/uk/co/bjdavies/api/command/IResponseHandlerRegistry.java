@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.api.command;
+
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * This is where plugins can teach the command dispatcher how to respond with a type other than a String or an
+ * embed, a Mono or Flux of a registered type is supported automatically.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public interface IResponseHandlerRegistry {
+
+    /**
+     * This will register a converter for a response type.
+     *
+     * @param type      - The type that commands will respond with.
+     * @param converter - This will turn a response into an {@link IResponse}.
+     * @param <T>       - The type of the response.
+     * @return boolean - false if the type already has a handler.
+     */
+    <T> boolean register(Class<T> type, Function<? super T, IResponse> converter);
+
+    /**
+     * This will register a converter for a generic response type e.g. Consumer&lt;EmbedCreateSpec&gt;
+     *
+     * @param type      - The type that commands will respond with.
+     * @param converter - This will turn a response into an {@link IResponse}.
+     * @return boolean - false if the type already has a handler.
+     */
+    boolean registerGeneric(Type type, Function<Object, IResponse> converter);
+
+    /**
+     * This will check whether a command can respond with the type.
+     *
+     * @param type - The type of the response.
+     * @return boolean
+     */
+    boolean isSupported(Type type);
+}
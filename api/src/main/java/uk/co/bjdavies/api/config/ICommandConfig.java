@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.api.config;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public interface ICommandConfig {
+
+    /**
+     * This will return how many commands can run at the same time.
+     * Default: 4
+     *
+     * @return int
+     */
+    int getWorkerThreads();
+
+    /**
+     * This will return how many commands can be waiting to run before the overflow policy is used.
+     * Default: 256
+     *
+     * @return int
+     */
+    int getQueueSize();
+
+    /**
+     * This will return how many commands from the same guild can run at the same time.
+     * Default: 2
+     *
+     * @return int
+     */
+    int getMaxConcurrentPerGuild();
+
+    /**
+     * This will return what happens to a command when the queue is full.
+     * "reject" will drop the new command, "drop-oldest" will drop the oldest waiting command from the same guild.
+     * Default: reject
+     *
+     * @return String
+     */
+    String getOverflowPolicy();
+
+    /**
+     * This will return how long a response waits so it can be joined with other responses to the same channel.
+     * 0 will send responses as soon as the channel is free.
+     * Default: 25
+     *
+     * @return long - Milliseconds.
+     */
+    long getResponseBatchWindowMillis();
+
+    /**
+     * This will return the config for rate limiting commands.
+     *
+     * @return {@link IRateLimitConfig}
+     */
+    IRateLimitConfig getRateLimitConfig();
+}
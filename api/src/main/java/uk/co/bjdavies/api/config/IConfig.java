@@ -68,6 +68,14 @@ public interface IConfig {
     IDatabaseConfig getDatabaseConfig();
 
 
+    /**
+     * This will return the config for how commands are executed.
+     *
+     * @return {@link ICommandConfig}
+     */
+    ICommandConfig getCommandConfig();
+
+
     /**
      * This will return the config for the plugins used in this bot.
      *
@@ -80,4 +80,12 @@ public interface IDatabaseConfig {
      * @return String
      */
     String getDatabase();
+
+    /**
+     * This is the most connections that are open to the database at once.
+     * NOTE: For Sqlite this is the amount of connections used to read, there is only ever one connection that writes.
+     *
+     * @return int
+     */
+    int getPoolSize();
 }
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.api.config;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public interface IRateLimitConfig {
+
+    /**
+     * This will return if commands are rate limited.
+     * Default: On
+     *
+     * @return boolean
+     */
+    boolean isEnabled();
+
+    /**
+     * This will return how many buckets are kept before the least recently used are removed.
+     * Default: 10000
+     *
+     * @return int
+     */
+    int getMaxBuckets();
+
+    /**
+     * This will return the limit for each user across every command.
+     *
+     * @return {@link ILimit}
+     */
+    ILimit getUserLimit();
+
+    /**
+     * This will return the limit for each guild across every command.
+     *
+     * @return {@link ILimit}
+     */
+    ILimit getGuildLimit();
+
+    /**
+     * This will return the limit for each command inside a guild.
+     *
+     * @return {@link ILimit}
+     */
+    ILimit getCommandLimit();
+
+    /**
+     * This is a token bucket, it holds up to capacity commands and refills at refillPerMinute.
+     */
+    interface ILimit {
+
+        /**
+         * This will return how many commands can be ran in a burst, 0 turns the limit off.
+         *
+         * @return int
+         */
+        int getCapacity();
+
+        /**
+         * This will return how many commands are added back to the bucket every minute, 0 turns the limit off.
+         *
+         * @return int
+         */
+        int getRefillPerMinute();
+    }
+}
@@ -16,6 +16,14 @@ public interface ICommandBuilder extends IBaseBuilder {
      */
     boolean insert(Map<String, Object> insertValues);
 
+    /**
+     * This will insert a row into the table and return the key the database generated for it.
+     *
+     * @param insertValues e.g. "name" => "Ben"
+     * @return int the generated key or -1 if the row has not been inserted.
+     */
+    int insertGetId(Map<String, Object> insertValues);
+
     /**
      * This
      *
@@ -28,5 +28,58 @@ public interface IConnection {
 
     Object executeCommand(ICommandBuilder command) throws SQLException;
 
+    /**
+     * This will run an insert and return the key the database generated for the new row.
+     *
+     * @param command - The insert command.
+     * @return Object - The generated key or null if no row was inserted.
+     * @throws SQLException - If the insert failed.
+     */
+    Object executeInsert(ICommandBuilder command) throws SQLException;
+
+    /**
+     * This will run a query that returns a single value e.g. {@code SELECT COUNT(*)}
+     *
+     * @param query - The query and its bound values.
+     * @return Object - The first column of the first row or null if there are no rows.
+     * @throws SQLException - If the query failed.
+     */
+    Object executeScalar(ISQLCommand query) throws SQLException;
+
+    /**
+     * This will run some work on a connection that is only used to read from the database, the connection is given
+     * back once the work is done so it must not be kept.
+     *
+     * @param work - The work to do with the connection.
+     * @param <R>  - The result of the work.
+     * @return R
+     * @throws SQLException - If the work failed or no connection was free.
+     */
+    <R> R read(SQLFunction<Connection, R> work) throws SQLException;
+
+    /**
+     * This will run some work that changes the database e.g. creating a table, writes are done one at a time when the
+     * database can only be written to by one connection.
+     *
+     * @param work - The work to do with the connection.
+     * @param <R>  - The result of the work.
+     * @return R
+     * @throws SQLException - If the work failed or no connection was free.
+     */
+    <R> R write(SQLFunction<Connection, R> work) throws SQLException;
+
+    /**
+     * This will close every connection to the database.
+     */
+    void close();
+
+    /**
+     * This connection is not shared with {@link #read(SQLFunction)} or {@link #write(SQLFunction)} and is not
+     * thread safe.
+     *
+     * @return Connection
+     * @deprecated Use {@link #read(SQLFunction)} or {@link #write(SQLFunction)}
+     */
+    @Deprecated
     Connection getSQLConnection();
 }
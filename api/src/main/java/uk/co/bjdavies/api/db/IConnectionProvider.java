@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.api.db;
+
+import uk.co.bjdavies.api.config.IDatabaseConfig;
+
+import java.sql.SQLException;
+
+/**
+ * This will create the {@link IConnection} for a type of database, providers are registered with the
+ * ConnectionFactory or found with a {@link java.util.ServiceLoader} by listing them in
+ * {@code META-INF/services/uk.co.bjdavies.api.db.IConnectionProvider}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public interface IConnectionProvider {
+
+    /**
+     * This is the type of database that is used in the config e.g. sqlite
+     * Note: Not case sensitive.
+     *
+     * @return String
+     */
+    String getType();
+
+    /**
+     * This will connect to the database.
+     *
+     * @param config - The database config.
+     * @return IConnection
+     * @throws SQLException - If the database could not be connected to.
+     */
+    IConnection create(IDatabaseConfig config) throws SQLException;
+}
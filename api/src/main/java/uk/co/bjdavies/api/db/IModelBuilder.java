@@ -100,5 +100,35 @@ public interface IModelBuilder<T extends Model> {
 
     boolean doesntExist();
 
-    String buildQuery();
+    /**
+     * This will add up a column of the rows that match, the database does the work so the rows are never loaded.
+     *
+     * @param column - The column to add up.
+     * @return Number - 0 if no rows match.
+     */
+    Number sum(String column);
+
+    /**
+     * This will return the smallest value of a column of the rows that match.
+     *
+     * @param column - The column.
+     * @return {@link Optional} - Empty if no rows match.
+     */
+    Optional<Object> min(String column);
+
+    /**
+     * This will return the largest value of a column of the rows that match.
+     *
+     * @param column - The column.
+     * @return {@link Optional} - Empty if no rows match.
+     */
+    Optional<Object> max(String column);
+
+    /**
+     * This will build the SQL of the query, the values of the where statements are not in the SQL they are bound to
+     * its {@code ?} placeholders in order.
+     *
+     * @return {@link ISQLCommand}
+     */
+    ISQLCommand buildQuery();
 }
@@ -23,18 +23,20 @@
  *
  */
 
-package uk.co.bjdavies.plugins;
+package uk.co.bjdavies.api.db;
+
+import java.sql.SQLException;
 
 /**
+ * This is some work that is done with a JDBC object and can throw a {@link SQLException}
+ *
+ * @param <T> - The JDBC object e.g. {@link java.sql.Connection}
+ * @param <R> - The result of the work.
  * @author ben.davies99@outlook.com (Ben Davies)
- * @since 1.0.0
+ * @since 2.2.0
  */
-public interface PluginCommandDefinition {
-    String getName();
-
-    Object[] getArgs();
-
-    Class<?>[] getParameterTypes();
+@FunctionalInterface
+public interface SQLFunction<T, R> {
 
-    Class<?> getPluginClass();
+    R apply(T t) throws SQLException;
 }
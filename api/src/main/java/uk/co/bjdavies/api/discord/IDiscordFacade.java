@@ -25,12 +25,14 @@
 
 package uk.co.bjdavies.api.discord;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.DiscordClient;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.domain.Event;
 import discord4j.core.object.entity.User;
 import discord4j.core.object.presence.Activity;
 import discord4j.core.object.presence.Presence;
+import discord4j.rest.util.Color;
 import reactor.core.publisher.Mono;
 
 import java.util.function.Consumer;
@@ -72,6 +74,15 @@ public interface IDiscordFacade {
      */
     Mono<User> getOurUser();
 
+    /**
+     * This will return the colour of the bot in a guild, this is cached until the bot's roles change so it
+     * can be used every time an embed is sent.
+     *
+     * @param guildId - The guild the bot is in.
+     * @return {@link Mono} this is a Mono Stream of the Color, empty if it could not be found
+     */
+    Mono<Color> getOurColor(Snowflake guildId);
+
     /**
      * This will update the presence of the bot to the text
      *
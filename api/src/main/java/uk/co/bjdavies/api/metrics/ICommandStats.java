@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.api.metrics;
+
+/**
+ * This is the stats of a single command.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public interface ICommandStats {
+
+    /**
+     * This will return the namespace of the command.
+     *
+     * @return String
+     */
+    String getNamespace();
+
+    /**
+     * This will return the first alias of the command.
+     *
+     * @return String
+     */
+    String getCommand();
+
+    /**
+     * This will return how long the command took from being dispatched until it had produced all of its responses.
+     *
+     * @return {@link ILatencySnapshot}
+     */
+    ILatencySnapshot getExecutionTime();
+
+    /**
+     * This will return how long each response took to be sent.
+     *
+     * @return {@link ILatencySnapshot}
+     */
+    ILatencySnapshot getResponseTime();
+
+    /**
+     * This will return how many times the command or one of its responses failed.
+     *
+     * @return long
+     */
+    long getErrors();
+}
@@ -41,6 +41,15 @@ public interface IVariableContainer {
      */
     void addAllFrom(Class<?> clazz);
 
+    /**
+     * This will add all the variables (@Variable.class) of an instance e.g. a plugin, they can be used in a response
+     * as $(namespace.name) and are read from the instance.
+     *
+     * @param namespace - The namespace of the variables, usually the name of the plugin.
+     * @param instance  - The instance that the variables are read from.
+     */
+    void addAllFrom(String namespace, Object instance);
+
     /**
      * This will add a method to the container.
      *
@@ -65,6 +74,13 @@ public interface IVariableContainer {
      */
     void remove(String name);
 
+    /**
+     * This will remove all the variables that were added under a namespace.
+     *
+     * @param namespace - The namespace of the variables, usually the name of the plugin.
+     */
+    void removeNamespace(String namespace);
+
     /**
      * This will return a field based on the name specified.
      *
@@ -47,6 +47,12 @@ import java.lang.annotation.Target;
  * }}
  * <p>
  * You would then declare this in a command as $(printString(Hi))
+ * <p>
+ * By default a variable is worked out once for each response, use {@link #cache()} to keep its value for longer
+ * e.g. {@code @Variable(cache = VariableCachePolicy.TTL, ttl = 60000)}
+ * <p>
+ * A method can also return a {@code Mono} or a {@code CompletableFuture}, all of these in a response are waited for
+ * at the same time before the response is sent.
  *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
@@ -54,4 +60,18 @@ import java.lang.annotation.Target;
 @Target({ElementType.METHOD, ElementType.FIELD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Variable {
+
+    /**
+     * This is how long the value of the variable is kept.
+     *
+     * @return {@link VariableCachePolicy}
+     */
+    VariableCachePolicy cache() default VariableCachePolicy.PER_REQUEST;
+
+    /**
+     * This is how long the value is kept in milliseconds when using {@link VariableCachePolicy#TTL}
+     *
+     * @return long
+     */
+    long ttl() default 0;
 }
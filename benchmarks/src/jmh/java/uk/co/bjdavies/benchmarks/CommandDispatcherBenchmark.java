@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import discord4j.core.object.entity.Message;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.bjdavies.api.IApplication;
+import uk.co.bjdavies.api.command.ICommand;
+import uk.co.bjdavies.api.command.ICommandContext;
+import uk.co.bjdavies.command.CommandDispatcher;
+import uk.co.bjdavies.command.parser.DiscordMessageParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This will measure finding the command for a message with different amounts of registered commands, the command
+ * looked up is the last one registered.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandDispatcherBenchmark {
+
+    private static final String TYPE = "Discord";
+
+    @Param({"10", "100", "1000"})
+    public int commandCount;
+
+    private CommandDispatcher dispatcher;
+
+    private Message message;
+
+    private String alias;
+
+    @Setup
+    public void setup() {
+        List<ICommand> commands = new ArrayList<>();
+        for (int i = 0; i < commandCount; i++) {
+            commands.add(new StubCommand("command" + i));
+        }
+
+        dispatcher = new CommandDispatcher();
+        dispatcher.addNamespace("", commands);
+
+        alias = "command" + (commandCount - 1);
+        message = StubMessages.message(alias + " -loop hello");
+    }
+
+    /**
+     * This is the path a message takes in {@link CommandDispatcher#execute} before the command is run.
+     */
+    @Benchmark
+    public void parseAndFind(Blackhole blackhole) {
+        ICommandContext context = new DiscordMessageParser(message).parseString(message.getContent());
+        blackhole.consume(dispatcher.findCommand(context));
+    }
+
+    @Benchmark
+    public void getCommandByAlias(Blackhole blackhole) {
+        blackhole.consume(dispatcher.getCommandByAlias("", alias, TYPE).block());
+    }
+
+    private static final class StubCommand implements ICommand {
+
+        private final String[] aliases;
+
+        private StubCommand(String alias) {
+            this.aliases = new String[]{alias};
+        }
+
+        @Override
+        public String[] getAliases() {
+            return aliases;
+        }
+
+        @Override
+        public String[] getExamples() {
+            return new String[0];
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public String getUsage() {
+            return aliases[0];
+        }
+
+        @Override
+        public String getType() {
+            return TYPE;
+        }
+
+        @Override
+        @Deprecated
+        public String run(IApplication application, ICommandContext commandContext) {
+            return "";
+        }
+
+        @Override
+        public void exec(IApplication application, ICommandContext commandContext) {
+        }
+
+        @Override
+        public boolean validateUsage(ICommandContext commandContext) {
+            return true;
+        }
+    }
+}
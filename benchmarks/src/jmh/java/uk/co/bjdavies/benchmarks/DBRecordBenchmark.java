@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.bjdavies.db.DBRecord;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This will measure turning a row into JSON with {@link DBRecord#toJsonString(String...)}
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DBRecordBenchmark {
+
+    @Param({"5", "20", "50"})
+    public int columnCount;
+
+    private DBRecord record;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            data.put("column" + i, i % 2 == 0 ? "value " + i : i);
+        }
+        data.put("password", "secret");
+        record = new DBRecord(data);
+    }
+
+    @Benchmark
+    public void toJson(Blackhole blackhole) {
+        blackhole.consume(record.toJsonString());
+    }
+
+    @Benchmark
+    public void toJsonHidingKeys(Blackhole blackhole) {
+        blackhole.consume(record.toJsonString("password", "column1"));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.bjdavies.command.parser.DiscordMessageParser;
+import uk.co.bjdavies.command.parser.MessageParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This will compare the single pass {@link DiscordMessageParser} with the regex based
+ * {@link LegacyDiscordMessageParser}.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiscordMessageParserBenchmark {
+
+    @Param({
+            "help",
+            "help commands",
+            "play -url=https://www.youtube.com/watch?v=dQw4w9WgXcQ -volume=50 -loop",
+            "say -channel=\"general\" -tts -delay=5 hello there everyone, this is a longer message to parse"
+    })
+    public String message;
+
+    private MessageParser parser;
+
+    private MessageParser legacyParser;
+
+    @Setup
+    public void setup() {
+        parser = new DiscordMessageParser(null);
+        legacyParser = new LegacyDiscordMessageParser(null);
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        blackhole.consume(parser.parseString(message));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        blackhole.consume(legacyParser.parseString(message));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.bjdavies.api.db.Comparator;
+import uk.co.bjdavies.api.db.WhereStatement;
+import uk.co.bjdavies.db.DBRecord;
+import uk.co.bjdavies.db.impl.SqliteQueryBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This will measure building the SQL of a query, nothing is sent to a database.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqliteQueryBuilderBenchmark {
+
+    private SqliteQueryBuilder<DBRecord> selectAll;
+
+    private SqliteQueryBuilder<DBRecord> filtered;
+
+    @Setup
+    public void setup() {
+        selectAll = new SqliteQueryBuilder<>("id", "users", null, DBRecord.class);
+        selectAll.select("*");
+
+        filtered = new SqliteQueryBuilder<>("id", "users", null, DBRecord.class);
+        filtered.select("id", "name", "email", "created_at");
+        filtered.where("name", "ben")
+                .and(new WhereStatement("age", 18, Comparator.GREATER_THAN_OR_EQUAL_TO))
+                .or(new WhereStatement("email", "%@example.com", Comparator.LIKE),
+                        new WhereStatement("id", 1, Comparator.NOT_EQUALS))
+                .orderBy("created_at")
+                .reverse()
+                .limit(10);
+    }
+
+    @Benchmark
+    public void selectAll(Blackhole blackhole) {
+        blackhole.consume(selectAll.buildQuery());
+    }
+
+    @Benchmark
+    public void filtered(Blackhole blackhole) {
+        blackhole.consume(filtered.buildQuery());
+    }
+}
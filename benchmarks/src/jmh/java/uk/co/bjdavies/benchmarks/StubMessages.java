@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.object.entity.Message;
+import discord4j.core.retriever.EntityRetrievalStrategy;
+import discord4j.discordjson.json.MessageData;
+import discord4j.discordjson.json.UserData;
+
+/**
+ * This will create Discord {@link Message}s that are not connected to Discord so the command paths can be measured
+ * offline, nothing that needs the gateway e.g. {@link Message#getChannel()} can be used.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+final class StubMessages {
+
+    private static final GatewayDiscordClient GATEWAY =
+            new GatewayDiscordClient(null, null, null, null, null, EntityRetrievalStrategy.REST);
+
+    private StubMessages() {
+    }
+
+    /**
+     * This will create a message sent by a user in a text channel.
+     *
+     * @param content - The content of the message.
+     * @return Message
+     */
+    static Message message(String content) {
+        MessageData data = MessageData.builder()
+                .id("1")
+                .channelId("2")
+                .author(UserData.builder().id("3").username("benchmark").discriminator("0001").build())
+                .content(content)
+                .timestamp("2020-01-01T00:00:00+00:00")
+                .tts(false)
+                .mentionEveryone(false)
+                .pinned(false)
+                .type(0)
+                .build();
+        return new Message(GATEWAY, data);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.bjdavies.api.IApplication;
+import uk.co.bjdavies.variables.GlobalVariables;
+import uk.co.bjdavies.variables.VariableContainer;
+import uk.co.bjdavies.variables.VariableParser;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This will measure replacing the variables in a command response with the {@link GlobalVariables}.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableParserBenchmark {
+
+    @Param({
+            "A response without any variables in it",
+            "Hello $(testVar)",
+            "$(testVar) $(getRandomGIF(2)) $(testVar) $(missing) and some text after them"
+    })
+    public String response;
+
+    private IApplication application;
+
+    @Setup
+    public void setup() {
+        VariableContainer container = new VariableContainer();
+        container.addAllFrom(GlobalVariables.class);
+        application = (IApplication) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IApplication.class},
+                (proxy, method, args) -> method.getName().equals("getVariableContainer") ? container : null);
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) {
+        blackhole.consume(new VariableParser(response, application).toString());
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        blackhole.consume(VariableParser.parse(response, application).block());
+    }
+}
@@ -32,9 +32,9 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Inject;
 import discord4j.common.util.Snowflake;
-import discord4j.core.object.entity.Guild;
 import discord4j.core.object.entity.channel.TextChannel;
 import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.rest.util.Color;
 import lombok.extern.slf4j.Slf4j;
 import reactor.netty.http.client.HttpClient;
 import uk.co.bjdavies.api.IApplication;
@@ -42,6 +42,7 @@ import uk.co.bjdavies.api.discord.IDiscordFacade;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ExecutorService;
@@ -151,22 +152,24 @@ public class AnnouncementService {
 
     public synchronized void sendMessage(String title, String message) {
 
-        BiConsumer<EmbedCreateSpec, Guild> specConsumer = (spec, g) -> {
+        BiConsumer<EmbedCreateSpec, Optional<Color>> specConsumer = (spec, color) -> {
             spec.setFooter("Server Version: " + application.getServerVersion(), null);
             spec.setAuthor("BabbleBot", "https://github.com/bendavies99/BabbleBot-Server", null);
             spec.setTimestamp(Instant.now());
-            facade.getClient().getSelf()
-              .subscribe(u -> u.asMember(g.getId())
-                .subscribe(mem -> mem.getColor()
-                  .subscribe(spec::setColor)));
+            color.ifPresent(spec::setColor);
             spec.setTitle(title);
             spec.setDescription("```\n" + message + "```");
         };
 
-        AnnouncementChannel.all().stream().map(a -> (AnnouncementChannel) a).forEach(a ->
-          facade.getClient().getGuildById(Snowflake.of(a.getGuildId())).subscribe(g ->
-            g.getChannelById(Snowflake.of(a.getChannelId())).map(c -> (TextChannel) c)
-              .subscribe(c -> c.createEmbed(spec -> specConsumer.accept(spec, g)).subscribe())));
+        AnnouncementChannel.all().stream().map(a -> (AnnouncementChannel) a).forEach(a -> {
+            Snowflake guildId = Snowflake.of(a.getGuildId());
+            facade.getOurColor(guildId)
+              .map(Optional::of)
+              .defaultIfEmpty(Optional.empty())
+              .subscribe(color -> facade.getClient().getChannelById(Snowflake.of(a.getChannelId()))
+                .map(c -> (TextChannel) c)
+                .subscribe(c -> c.createEmbed(spec -> specConsumer.accept(spec, color)).subscribe()));
+        });
     }
 
     public synchronized void sendMessage(String message) {
@@ -31,6 +31,7 @@ import discord4j.core.object.entity.channel.TextChannel;
 import discord4j.core.spec.EmbedCreateSpec;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.Command;
 import uk.co.bjdavies.api.command.CommandParam;
@@ -40,12 +41,16 @@ import uk.co.bjdavies.api.config.IDiscordConfig;
 import uk.co.bjdavies.api.db.Model;
 import uk.co.bjdavies.api.db.WhereStatement;
 import uk.co.bjdavies.api.discord.IDiscordFacade;
+import uk.co.bjdavies.api.metrics.ICommandMetrics;
+import uk.co.bjdavies.api.metrics.ICommandStats;
+import uk.co.bjdavies.api.metrics.ILatencySnapshot;
 import uk.co.bjdavies.api.plugins.IPluginEvents;
 import uk.co.bjdavies.api.plugins.IPluginSettings;
 import uk.co.bjdavies.api.plugins.Plugin;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -95,11 +100,15 @@ public class CorePlugin implements IPluginEvents {
 
     private final AnnouncementService announcementService;
 
+    private final ICommandMetrics commandMetrics;
+
     @Inject
-    public CorePlugin(ICommandDispatcher commandDispatcher, IApplication application, IDiscordConfig config) {
+    public CorePlugin(ICommandDispatcher commandDispatcher, IApplication application, IDiscordConfig config,
+                      ICommandMetrics commandMetrics) {
         this.commandDispatcher = commandDispatcher;
         this.application = application;
         this.config = config;
+        this.commandMetrics = commandMetrics;
         announcementService = application.get(AnnouncementService.class);
     }
 
@@ -111,9 +120,10 @@ public class CorePlugin implements IPluginEvents {
     @Override
     public void onBoot(IPluginSettings settings) {
         log.info("Booting Core Plugin");
-        commandDispatcher.registerGlobalMiddleware(context ->
-          Ignore.where("channelId", context.getMessage().getChannelId().asString()).doesntExist()
-            || context.getCommandName().equals("listen"));
+        commandDispatcher.registerAsyncGlobalMiddleware(context -> context.getCommandName().equals("listen")
+          ? Mono.just(true)
+          : Mono.fromCallable(() -> Ignore.where("channelId", context.getMessage().getChannelId().asString())
+            .doesntExist()).subscribeOn(Schedulers.boundedElastic()));
         announcementService.start();
         IDiscordFacade discordFacade = application.get(IDiscordFacade.class);
         discordFacade.registerEventHandler(ReadyEvent.class, (r) -> {
@@ -224,6 +234,27 @@ public class CorePlugin implements IPluginEvents {
         }
     }
 
+    @Command(description = "Show the slowest commands, times are in milliseconds.", type = "All")
+    public String stats(ICommandContext commandContext) {
+        ILatencySnapshot parse = commandMetrics.getParseTime();
+        StringBuilder sb = new StringBuilder("```md\n# Command Stats\n");
+        sb.append(String.format("Parse: %d messages, p99 %.2fms%n%n", parse.getCount(),
+          parse.getPercentile(99) / 1000.0));
+        sb.append(String.format("%-24s %7s %8s %8s %8s %6s%n", "Command", "Count", "p50", "p99", "Max", "Errors"));
+
+        commandMetrics.getCommandStats().stream()
+          .sorted(Comparator.comparingLong((ICommandStats cs) -> cs.getExecutionTime().getPercentile(99)).reversed())
+          .limit(10)
+          .forEach(cs -> {
+              ILatencySnapshot execution = cs.getExecutionTime();
+              sb.append(String.format("%-24s %7d %8.2f %8.2f %8.2f %6d%n", cs.getNamespace() + cs.getCommand(),
+                execution.getCount(), execution.getPercentile(50) / 1000.0, execution.getPercentile(99) / 1000.0,
+                execution.getMax() / 1000.0, cs.getErrors()));
+          });
+
+        return sb.append("```").toString();
+    }
+
     @Command(description = "This will help you to discover all the commands and their features.", type = "All",
       exampleValue = "ignore")
     @CommandParam(value = "cmd", canBeEmpty = false,
@@ -240,7 +271,7 @@ public class CorePlugin implements IPluginEvents {
                 spec.setTimestamp(Instant.now());
                 AtomicBoolean hasFoundCommand = new AtomicBoolean(false);
                 String namespace = commandDispatcher.getNamespaceFromCommandName(command);
-                String alias = command.replace(namespace, "");
+                String alias = command.substring(namespace.length());
                 log.info(command);
                 commandDispatcher.getCommandByAlias(namespace, alias, commandContext.getType())
                   .subscribe(cmd -> {
@@ -32,11 +32,14 @@ import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
 import uk.co.bjdavies.api.config.IConfig;
+import uk.co.bjdavies.api.db.IConnection;
 import uk.co.bjdavies.api.discord.IDiscordFacade;
 import uk.co.bjdavies.api.plugins.IPluginContainer;
 import uk.co.bjdavies.api.variables.IVariableContainer;
 import uk.co.bjdavies.command.CommandDispatcher;
+import uk.co.bjdavies.command.CommandExecutor;
 import uk.co.bjdavies.command.CommandModule;
+import uk.co.bjdavies.command.middleware.RateLimitMiddleware;
 import uk.co.bjdavies.config.ConfigModule;
 import uk.co.bjdavies.core.CorePlugin;
 import uk.co.bjdavies.db.DB;
@@ -116,6 +119,9 @@ public class Application implements IApplication {
         applicationInjector = Guice.createInjector(applicationModule, configModule, discordModule, commandModule,
                 variableModule, pluginModule);
 
+        //Registered before any plugin so spam is rejected before plugin middleware runs.
+        commandDispatcher.registerGlobalMiddleware(get(RateLimitMiddleware.class));
+
         pluginContainer.addPlugin("core", get(CorePlugin.class));
 
         config.getPlugins().forEach(pluginConfig -> ImportPluginFactory.importPlugin(pluginConfig, this)
@@ -220,10 +226,12 @@ public class Application implements IApplication {
         Executors.newSingleThreadExecutor().submit(() -> {
             Timer timer = new Timer();
 
+            get(CommandExecutor.class).shutdown();
             getPluginContainer().shutDownPlugins();
             IDiscordFacade facade = get(IDiscordFacade.class);
             facade.logoutBot().block();
             webServer.stop();
+            closeDatabase();
 
             Runtime.getRuntime().runFinalization();
             timer.schedule(new TimerTask() {
@@ -235,6 +243,16 @@ public class Application implements IApplication {
         });
     }
 
+    /**
+     * This will close the database connections so nothing is left open when the application stops.
+     */
+    private void closeDatabase() {
+        IConnection connection = DB.getConnection();
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
     @Override
     public boolean hasArgument(String argument) {
         return Arrays.asList(args).contains(argument);
@@ -243,6 +261,7 @@ public class Application implements IApplication {
     @Override
     public void restart() {
         Executors.newSingleThreadExecutor().submit(() -> {
+            get(CommandExecutor.class).shutdown();
             getPluginContainer().shutDownPlugins();
             IDiscordFacade facade = get(IDiscordFacade.class);
             facade.registerEventHandler(DisconnectEvent.class, (d) -> {
@@ -250,6 +269,7 @@ public class Application implements IApplication {
             });
             facade.logoutBot().block();
             webServer.stop();
+            closeDatabase();
             Runtime.getRuntime().runFinalization();
             try {
                 List<String> command = new ArrayList<>();
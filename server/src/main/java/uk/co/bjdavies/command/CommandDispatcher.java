@@ -29,21 +29,25 @@ import discord4j.core.object.entity.Message;
 import lombok.extern.log4j.Log4j2;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.Loggers;
 import uk.co.bjdavies.api.IApplication;
+import uk.co.bjdavies.api.command.IAsyncCommandMiddleware;
 import uk.co.bjdavies.api.command.ICommand;
 import uk.co.bjdavies.api.command.ICommandContext;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
 import uk.co.bjdavies.api.command.ICommandMiddleware;
+import uk.co.bjdavies.api.command.IResponse;
+import uk.co.bjdavies.api.discord.IDiscordFacade;
 import uk.co.bjdavies.api.plugins.IPlugin;
 import uk.co.bjdavies.command.errors.UsageException;
 import uk.co.bjdavies.command.parser.MessageParser;
+import uk.co.bjdavies.metrics.CommandMetrics;
 import uk.co.bjdavies.variables.VariableParser;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
@@ -53,21 +57,37 @@ import java.util.concurrent.atomic.AtomicReference;
 public class CommandDispatcher implements ICommandDispatcher {
 
     /**
-     * This is the list of command that can be executed by the dispatcher.
+     * This is the maximum amount of commands suggested when a command could not be found.
+     */
+    private static final int MAX_SUGGESTIONS = 5;
+
+    /**
+     * This is where the commands and middleware that can be executed by the dispatcher are kept.
      * Key: Namespace - e.g. "" which wont require a command prefix
      * e.g. "bb" which would require a bb prefix;
      */
-    private final Map<String, List<ICommand>> commands;
+    private final CommandRegistry registry;
 
-    private final Map<IPlugin, List<ICommandMiddleware>> middlewareList;
+    /**
+     * This is where the time each stage of a command took is recorded.
+     */
+    private final CommandMetrics metrics;
 
     /**
-     * This will initialize the commands list to an ArrayList.
+     * This will initialize the command registry.
      */
     public CommandDispatcher() {
-        this.commands = new HashMap<>();
-        this.middlewareList = new HashMap<>();
-        this.middlewareList.put(null, new ArrayList<>());
+        this(new CommandMetrics());
+    }
+
+    /**
+     * This will initialize the command registry.
+     *
+     * @param metrics - Where the time each stage of a command took is recorded.
+     */
+    public CommandDispatcher(CommandMetrics metrics) {
+        this.registry = new CommandRegistry();
+        this.metrics = metrics;
     }
 
 
@@ -77,60 +97,17 @@ public class CommandDispatcher implements ICommandDispatcher {
      * @param command - The command you wish to add.
      */
     public void addCommand(String namespace, ICommand command) {
-        if (!commands.containsKey(namespace)) {
-            log.info("Namespace: " + namespace + " has not been created yet, creating now...");
-            commands.put(namespace, new ArrayList<>());
-        }
-        List<ICommand> namespaceCommands = commands.get(namespace);
-        if (commandExists(namespaceCommands, command)) {
-            log.warn("Command: " + command.getAliases()[0] + ", already exists inside namespace: " + namespace);
-        } else {
-            namespaceCommands.add(command);
-        }
+        registry.addCommand(namespace, command);
     }
 
     @Override
     public void addNamespace(String namespace, List<ICommand> commandsToAdd) {
-        if (commands.containsKey(namespace)) {
-            log.info("Namespace: " + namespace + " has already been created.");
-            log.warn("Plugin with this namespace already exists please consider changing it.");
-            commands.get(namespace).addAll(commandsToAdd);
-        } else {
-            commands.put(namespace, commandsToAdd);
-        }
+        registry.addNamespace(namespace, commandsToAdd);
     }
 
     @Override
     public void removeNamespace(String namespace) {
-        if (!commands.containsKey(namespace)) {
-            log.info("Namespace: " + namespace + " has not been created so you cannot remove it.");
-        } else {
-            commands.remove(namespace);
-        }
-    }
-
-    private boolean commandExists(List<ICommand> namespaceCommands, ICommand command) {
-        boolean aliases = checkAliases(namespaceCommands, command);
-        return !aliases && !namespaceCommands.contains(command);
-    }
-
-    private boolean checkAliases(List<ICommand> namespaceCommands, ICommand command) {
-        AtomicBoolean okay = new AtomicBoolean(true);
-        List<String> commandAliases = Arrays.asList(command.getAliases());
-        namespaceCommands.forEach(c -> {
-            if (okay.get()) {
-                List<String> namespaceCommandAliases = Arrays.asList(c.getAliases());
-                namespaceCommandAliases.forEach(a -> {
-                    if (okay.get()) {
-                        if (commandAliases.contains(a)) {
-                            okay.set(false);
-                        }
-                    }
-                });
-            }
-        });
-
-        return okay.get();
+        registry.removeNamespace(namespace);
     }
 
     /**
@@ -139,36 +116,21 @@ public class CommandDispatcher implements ICommandDispatcher {
      * @param command - The command you wish to remove.
      */
     public void removeCommand(String namespace, ICommand command) {
-        if (!commands.containsKey(namespace)) {
-            log.error("Namespace: " + namespace + " has not been created yet, cannot remove command");
-            return;
-        }
-        List<ICommand> namespaceCommands = commands.get(namespace);
-        if (!namespaceCommands.contains(command)) {
-            log.error("Command is not part of the dispatcher so it cannot be removed.");
-        } else {
-            namespaceCommands.remove(command);
-        }
-
+        registry.removeCommand(namespace, command);
     }
 
     public Flux<ICommand> getCommandsFromNamespace(String namespace) {
-        if (!commands.containsKey(namespace)) {
+        List<ICommand> namespaceCommands = registry.getSnapshot().getCommands().get(namespace);
+        if (namespaceCommands == null) {
             log.error("Namespace: " + namespace + " has not been created yet, cannot get namepsace");
             return Flux.empty();
         }
-        return Flux.create(sink -> {
-            commands.get(namespace).forEach(sink::next);
-            sink.complete();
-        });
+        return Flux.fromIterable(namespaceCommands);
     }
 
     @Override
     public Flux<String> getRegisteredNamespaces() {
-        return Flux.create(sink -> {
-            commands.keySet().forEach(sink::next);
-            sink.complete();
-        });
+        return Flux.fromIterable(registry.getSnapshot().getCommands().keySet());
     }
 
     /**
@@ -184,220 +146,199 @@ public class CommandDispatcher implements ICommandDispatcher {
     }
 
 
+    /**
+     * This will find the command that a parsed message is for, the same way {@link #execute} does.
+     *
+     * @param commandContext - The context of the command.
+     * @return Optional - The command or empty if there is no command with that name and type.
+     */
+    public Optional<ICommand> findCommand(ICommandContext commandContext) {
+        CommandRegistry.Snapshot snapshot = registry.getSnapshot();
+        String namespace = snapshot.getIndex().resolveNamespace(commandContext.getCommandName());
+        return findCommand(snapshot, namespace, commandContext);
+    }
+
+    private static Optional<ICommand> findCommand(CommandRegistry.Snapshot snapshot, String namespace,
+                                                  ICommandContext commandContext) {
+        String commandName = commandContext.getCommandName().substring(namespace.length());
+        return snapshot.getIndex().find(namespace, commandName, commandContext.getType());
+    }
+
     /**
      * This will execute the command that user has entered is valid.
      *
      * @param parser      - The way the message is interpreted.
      * @param message     - This is the user's input or any other type of input.
      * @param application - The application instance.
-     * @return String - The command's response
+     * @return Mono - Completes once the command has run and its responses have been sent.
      */
-    public void execute(MessageParser parser, String message, IApplication application) {
+    public Mono<Void> execute(MessageParser parser, String message, IApplication application) {
+        return execute(parser, message, application, Schedulers.immediate());
+    }
+
+    /**
+     * This will execute the command that user has entered is valid, the command is run on the scheduler once its
+     * middleware has passed so a middleware that switches threads doesn't take the command with it.
+     *
+     * @param parser      - The way the message is interpreted.
+     * @param message     - This is the user's input or any other type of input.
+     * @param application - The application instance.
+     * @param scheduler   - The scheduler the command is run on.
+     * @return Mono - Completes once the command has run and its responses have been sent.
+     */
+    public Mono<Void> execute(MessageParser parser, String message, IApplication application, Scheduler scheduler) {
+        long parseStart = System.nanoTime();
         ICommandContext commandContext = parser.parseString(message);
+        metrics.recordParse(System.nanoTime() - parseStart);
 
-        if (commandContext != null) {
-            log.info("Handling command: " + commandContext.getCommandName());
-            AtomicBoolean canRun = new AtomicBoolean(true);
+        if (commandContext == null) {
+            log.error("Command could not be parsed: " + message);
+            return Mono.empty();
+        }
 
-            this.middlewareList.get(null).forEach(m -> {
-                if (canRun.get()) {
-                    canRun.set(m.onExecute(commandContext));
-                }
-            });
+        log.debug("Handling command: " + commandContext.getCommandName());
+        CommandRegistry.Snapshot snapshot = registry.getSnapshot();
+        String namespace = snapshot.getIndex().resolveNamespace(commandContext.getCommandName());
+
+        long middlewareStart = System.nanoTime();
+        return snapshot.getMiddlewareChain(namespace).test(commandContext)
+                .doOnNext(canRun -> metrics.recordMiddleware(namespace, System.nanoTime() - middlewareStart))
+                .doOnError(e -> log.error("Error in the command middleware.", e))
+                .publishOn(scheduler)
+                .flatMap(canRun -> {
+                    if (!canRun) {
+                        log.info("Cannot run command due to failing middleware");
+                        return Mono.empty();
+                    }
+                    return dispatch(snapshot, namespace, commandContext, application);
+                });
+    }
 
-            if (!canRun.get()) {
-                log.info("Cannot run command due to failing middleware");
-                return;
+    /**
+     * This will run the command once its middleware has passed.
+     *
+     * @param snapshot       - The registry snapshot the command was resolved with.
+     * @param namespace      - The namespace of the command.
+     * @param commandContext - The context of the command.
+     * @param application    - The application instance.
+     * @return Mono - Completes once the command has run and its responses have been sent.
+     */
+    private Mono<Void> dispatch(CommandRegistry.Snapshot snapshot, String namespace, ICommandContext commandContext,
+                                IApplication application) {
+        String commandName = commandContext.getCommandName().substring(namespace.length());
+        Message m = commandContext.getMessage();
+        ResponseSender sender = application.get(ResponseSender.class);
+        Optional<ICommand> command = findCommand(snapshot, namespace, commandContext);
+        String alias = command.map(c -> c.getAliases()[0]).orElse(commandName);
+        long executionStart = System.nanoTime();
+
+        if (!command.isPresent()) {
+            List<CommandSuggestionTree.Suggestion> suggestions = snapshot.getIndex()
+                    .suggest(commandContext.getCommandName(), commandContext.getType(), MAX_SUGGESTIONS);
+            if (suggestions.isEmpty()) {
+                return m.getChannel().flatMap(c -> c.createMessage("Babblebot command could'nt be found.")).then();
             }
+            StringBuilder sb = new StringBuilder("```markdown\n# Command Not Found\n\nDid You mean?\n");
+            suggestions.forEach(s -> sb.append(s.getName()).append("? - ")
+                    .append(s.getCommand().getDescription()).append("\n"));
+            sb.append("```");
+            return m.getChannel().flatMap(c -> c.createMessage(sb.toString())).then();
+        }
 
+        return Flux.defer(() -> {
+                    ICommand c = command.get();
+                    if (!c.validateUsage(commandContext)) {
+                        return Flux.<IResponse>error(new UsageException(c.getUsage()));
+                    }
 
-            String namespace = getNamespaceFromCommandName(commandContext.getCommandName());
-
-            this.getMiddlewareForNamespace(namespace).doOnNext(middleware -> {
-                log.info("Running middleware for: " + namespace);
-                if (canRun.get()) {
-                    canRun.set(middleware.onExecute(commandContext));
-                }
-            }).subscribe();
-
-            if (!canRun.get()) {
-                log.info("Cannot run command due to failing plugin middleware");
-                return;
-            }
+                    String runCommand = c.run(application, commandContext);
 
-            String commandName = commandContext.getCommandName().replace(namespace, "");
-            Message m = commandContext.getMessage();
-            AtomicBoolean hasSentMessage = new AtomicBoolean(false);
-            AtomicBoolean hasFoundOne = new AtomicBoolean(false);
-
-            getCommandsFromNamespace(namespace)
-                    .filter(e -> checkType(e.getType(), commandContext.getType()))
-                    .filter(e -> Arrays.stream(e.getAliases())
-                            .anyMatch(alias -> alias.toLowerCase().equals(commandName.toLowerCase())))
-                    .doOnError(e -> log.error("Error in the command dispatcher.", e))
-                    .doOnComplete(() -> {
-                        if (!hasFoundOne.get()) {
-                            StringBuilder sb = new StringBuilder("```markdown\n# Command Not Found\n\nDid You mean?\n");
-                            getCommandsLike(commandName, commandContext.getType())
-                                    .subscribe(c -> {
-                                        sb.append(getNamespaceForCommand(c)).append(c.getAliases()[0])
-                                                .append("? - ").append(c.getDescription()).append("\n");
-                                        hasSentMessage.set(true);
-                                    }, null, () -> {
-                                        if (!hasSentMessage.get()) {
-                                            m.getChannel().subscribe(c ->
-                                                    c.createMessage("Babblebot command could'nt be found.").subscribe());
-                                        } else {
-                                            sb.append("```");
-                                            m.getChannel().subscribe(c ->
-                                                    c.createMessage(sb.toString()).subscribe());
-                                        }
-                                    });
-                        }
-                    })
-                    .flatMap(c -> {
-                        hasFoundOne.set(true);
-                        if (!c.validateUsage(commandContext)) {
-                            return Flux.error(new UsageException(c.getUsage()));
-                        }
-
-                        //noinspection ReactiveStreamsUnusedPublisher
-                        commandContext.getMessage().getGuild().doOnNext(g ->
-                                log.debug("Running command: " + commandContext.getCommandName() + "In Guild: " +
-                                        g.getName()));
-                        String runCommand = c.run(application, commandContext);
-
-                        if (!runCommand.equals("")) {
-                            return Flux.just(ResponseFactory.createStringResponse(runCommand));
-                        } else {
-                            c.exec(application, commandContext);
-                            return commandContext.getCommandResponse().getResponses()
-                                    .log(Loggers.getLogger("CommandResponses"));
-                        }
-                    })
-                    .subscribe(s -> {
-                        if (s.isStringResponse()) {
-
-                            m.getChannel().subscribe(c ->
-                                    c.createMessage(new VariableParser(s.getStringResponse(), application).toString())
-                                            .subscribe());
-                            hasSentMessage.set(true);
-                        } else if (s.getEmbedCreateSpecResponse() != null) {
-                            m.getChannel().subscribe(c ->
-                                    c.createEmbed(spec -> {
-                                        spec.setFooter("Server Version: " + application.getServerVersion(), null);
-                                        spec.setAuthor("BabbleBot", "https://github.com/bendavies99/BabbleBot-Server", null);
-                                        spec.setTimestamp(Instant.now());
-                                        m.getGuild().subscribe(g -> m.getClient().getSelf()
-                                                .subscribe(u -> u.asMember(g.getId())
-                                                        .subscribe(mem -> mem.getColor()
-                                                                .subscribe(spec::setColor))));
-
-                                        s.getEmbedCreateSpecResponse().accept(spec);
-                                    })
-                                            .subscribe());
-                            hasSentMessage.set(true);
-                        }
-                    }, throwable -> {
-                        if (throwable instanceof UsageException) {
-                            m.getChannel().subscribe(c ->
-                                    c.createMessage(throwable.getMessage()).subscribe());
-                        }
-                        hasSentMessage.set(true);
-                    });
+                    if (!runCommand.equals("")) {
+                        return Flux.just(ResponseFactory.createStringResponse(runCommand));
+                    } else {
+                        c.exec(application, commandContext);
+                        return commandContext.getCommandResponse().getResponses()
+                                .log(Loggers.getLogger("CommandResponses"));
+                    }
+                })
+                .doOnComplete(() -> metrics.recordExecution(namespace, alias, System.nanoTime() - executionStart))
+                .flatMap(s -> send(s, m, sender, namespace, alias, application))
+                .then()
+                .onErrorResume(UsageException.class, e ->
+                        m.getChannel().flatMap(c -> c.createMessage(e.getMessage())).then())
+                .doOnError(e -> {
+                    log.error("Error in the command dispatcher.", e);
+                    metrics.recordError(namespace, alias);
+                });
+    }
 
+    /**
+     * This will send a single response of a command, a failed send is recorded and does not stop the others.
+     *
+     * @param s           - The response to send.
+     * @param m           - The message that ran the command.
+     * @param sender      - The sender that batches responses per channel.
+     * @param namespace   - The namespace of the command.
+     * @param alias       - The alias of the command.
+     * @param application - The application instance.
+     * @return Mono - Completes once the response has been sent.
+     */
+    private Mono<Void> send(IResponse s, Message m, ResponseSender sender, String namespace, String alias,
+                            IApplication application) {
+        long sendStart = System.nanoTime();
+        Mono<?> sent;
+        if (s.isStringResponse()) {
+            sent = m.getChannel().flatMap(c -> VariableParser.parse(s.getStringResponse(), application)
+                    .flatMap(content -> sender.sendMessage(c, content)));
+        } else if (s.getEmbedCreateSpecResponse() != null) {
+            sent = m.getGuildId()
+                    .map(g -> application.get(IDiscordFacade.class).getOurColor(g))
+                    .orElseGet(Mono::empty)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(color -> m.getChannel().flatMap(c ->
+                            sender.sendEmbed(c, spec -> {
+                                spec.setFooter("Server Version: " + application.getServerVersion(), null);
+                                spec.setAuthor("BabbleBot", "https://github.com/bendavies99/BabbleBot-Server", null);
+                                spec.setTimestamp(Instant.now());
+                                color.ifPresent(spec::setColor);
+
+                                s.getEmbedCreateSpecResponse().accept(spec);
+                            })));
         } else {
-            log.error("Command could not be parsed: " + message);
+            return Mono.empty();
         }
 
-    }
-
-    private Flux<ICommand> getCommandsLike(String commandName, String type) {
-        return Flux.create(sink -> getCommands(type)
-                .doOnComplete(sink::complete)
-                .filter(c -> Arrays.stream(c.getAliases()).anyMatch(a -> a.contains(commandName)))
-                .doOnNext(sink::next).subscribe());
-    }
-
-    private String getNamespaceForCommand(ICommand c) {
-        AtomicReference<String> namespace = new AtomicReference<>("");
-        this.commands.forEach((key, value) -> {
-            if (!checkAliases(value, c) && namespace.get().equals("")) {
-                namespace.set(key);
-            }
-        });
-        return namespace.get();
+        return sent
+                .doOnSuccess(ignored -> metrics.recordResponse(namespace, alias, System.nanoTime() - sendStart))
+                .doOnError(e -> metrics.recordError(namespace, alias))
+                .onErrorResume(e -> Mono.empty())
+                .then();
     }
 
     public String getNamespaceFromCommandName(String commandName) {
-        AtomicReference<String> namespace = new AtomicReference<>("");
-        log.info(commandName);
-        this.commands.keySet().forEach(i -> {
-            if (commandName.startsWith(i)) {
-                namespace.set(i);
-            }
-        });
-
-        return namespace.get();
+        return registry.getSnapshot().getIndex().resolveNamespace(commandName);
     }
 
     @Override
     public void registerGlobalMiddleware(ICommandMiddleware middleware) {
-        this.middlewareList.get(null).add(middleware);
+        registry.addGlobalMiddleware(middleware);
     }
 
 
     @Override
     public void registerPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware) {
-        if (!middlewareList.containsKey(plugin)) {
-            middlewareList.put(plugin, new ArrayList<>());
-        }
-
-        middlewareList.get(plugin).add(middleware);
+        registry.addPluginMiddleware(plugin, middleware);
     }
 
-    private Flux<ICommandMiddleware> getMiddlewareForNamespace(String namespace) {
-
-        return Flux.create(sink -> {
-            middlewareList.forEach((key, value) -> {
-                if (key != null) {
-                    if (key.getNamespace().equals(namespace)) {
-                        value.forEach(sink::next);
-                    }
-                }
-            });
-            sink.complete();
-        });
+    @Override
+    public void registerAsyncGlobalMiddleware(IAsyncCommandMiddleware middleware) {
+        registry.addAsyncGlobalMiddleware(middleware);
     }
 
-
-    /**
-     * This will check of the command against the command context.
-     *
-     * @param commandType - The type of the command.
-     * @param contextType - The command context.
-     * @return boolean
-     */
-    private boolean checkType(String commandType, String contextType) {
-        if (commandType.equals("All")) {
-            return true;
-        } else if (commandType.toLowerCase().equals(contextType.toLowerCase())) {
-            return true;
-        } else if (commandType.contains("|")) {
-            String[] types = commandType.split("|");
-            boolean foundType = false;
-
-            for (String type : types) {
-                if (type.toLowerCase().equals(contextType.toLowerCase())) {
-                    foundType = true;
-                }
-            }
-
-            return foundType;
-        }
-
-
-        return false;
+    @Override
+    public void registerAsyncPluginMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware) {
+        registry.addAsyncPluginMiddleware(plugin, middleware);
     }
 
     /**
@@ -417,13 +358,8 @@ public class CommandDispatcher implements ICommandDispatcher {
      * @return List
      */
     public Flux<ICommand> getCommands(String type) {
-
-        AtomicReference<Flux<ICommand>> commandFlux = new AtomicReference<>(Flux.empty());
-
-        commands.keySet().forEach(k -> {
-            commandFlux.set(commandFlux.get().concatWith(getCommands(k, type)));
-        });
-
-        return commandFlux.get();
+        return Flux.fromIterable(registry.getSnapshot().getCommands().values())
+                .flatMapIterable(namespaceCommands -> namespaceCommands)
+                .filter(c -> c.getType().equals(type));
     }
 }
\ No newline at end of file
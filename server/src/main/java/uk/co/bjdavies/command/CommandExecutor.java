@@ -0,0 +1,301 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import uk.co.bjdavies.api.config.ICommandConfig;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * This is where commands are executed so a slow command can't hold up the thread that receives messages.
+ * <p>
+ * Commands run on a fixed pool of workers, at most {@link ICommandConfig#getMaxConcurrentPerGuild()} commands from
+ * the same guild run at once and the rest wait in that guild's queue, in order. When
+ * {@link ICommandConfig#getQueueSize()} commands are waiting the {@link OverflowPolicy} decides what is dropped.
+ * <p>
+ * A command holds its slot until the {@link Mono} it returns terminates, not just until the worker has subscribed
+ * to it, so the limits apply to commands that are still waiting on their responses. Commands are given the workers
+ * as a {@link Scheduler} to run on, so a middleware that switches threads doesn't move the command off the pool.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+@Singleton
+public class CommandExecutor {
+
+    /**
+     * A command that hasn't terminated by then is cancelled so it can't hold its guild's slot forever.
+     */
+    private static final Duration MAX_COMMAND_DURATION = Duration.ofMinutes(5);
+
+    private final ExecutorService workers;
+
+    private final Scheduler scheduler;
+
+    private final int queueSize;
+
+    private final int maxConcurrentPerGuild;
+
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Key: Guild id or the user id for direct messages.
+     * A lane is removed once it has nothing running and nothing waiting.
+     */
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Inject
+    public CommandExecutor(ICommandConfig config) {
+        this.queueSize = Math.max(1, config.getQueueSize());
+        this.maxConcurrentPerGuild = Math.max(1, config.getMaxConcurrentPerGuild());
+        this.overflowPolicy = OverflowPolicy.fromString(config.getOverflowPolicy());
+        this.workers = Executors.newFixedThreadPool(Math.max(1, config.getWorkerThreads()),
+                new ThreadFactoryBuilder().setNameFormat("command-thread-%d").setDaemon(true).build());
+        this.scheduler = Schedulers.fromExecutorService(workers);
+    }
+
+    /**
+     * This will queue a command to be executed.
+     *
+     * @param key     - The guild id, or the user id for direct messages.
+     * @param command - The command to execute, it is called on a worker with the scheduler to run on and holds its
+     *                slot until the Mono terminates.
+     * @return boolean - false if the command was dropped because the queue is full.
+     */
+    public boolean submit(String key, Function<Scheduler, Mono<Void>> command) {
+        if (queued.incrementAndGet() > queueSize && !makeRoom(key)) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            log.warn("Command queue is full, dropping command for: " + key);
+            return false;
+        }
+
+        AtomicReference<Function<Scheduler, Mono<Void>>> start = new AtomicReference<>();
+        lanes.compute(key, (k, lane) -> {
+            if (lane == null) {
+                lane = new Lane();
+            }
+            if (lane.running < maxConcurrentPerGuild) {
+                lane.running++;
+                start.set(command);
+            } else {
+                lane.waiting.add(command);
+            }
+            return lane;
+        });
+
+        if (start.get() != null) {
+            start(key, start.get());
+        }
+        return true;
+    }
+
+    /**
+     * This will drop the oldest waiting command from the same guild if the policy allows it.
+     *
+     * @param key - The guild id, or the user id for direct messages.
+     * @return boolean - true if a command was dropped.
+     */
+    private boolean makeRoom(String key) {
+        if (overflowPolicy != OverflowPolicy.DROP_OLDEST) {
+            return false;
+        }
+
+        boolean[] removed = new boolean[1];
+        lanes.computeIfPresent(key, (k, lane) -> {
+            removed[0] = lane.waiting.pollFirst() != null;
+            return lane;
+        });
+        if (removed[0]) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            log.warn("Command queue is full, dropped the oldest waiting command for: " + key);
+        }
+        return removed[0];
+    }
+
+    private void start(String key, Function<Scheduler, Mono<Void>> command) {
+        try {
+            workers.execute(() -> run(key, command));
+        } catch (RejectedExecutionException e) {
+            log.error("Command executor has been shutdown, dropping command for: " + key);
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            finish(key);
+        }
+    }
+
+    private void run(String key, Function<Scheduler, Mono<Void>> command) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        Mono<Void> execution;
+        try {
+            execution = command.apply(scheduler);
+        } catch (RuntimeException e) {
+            execution = Mono.error(e);
+        }
+
+        execution.timeout(MAX_COMMAND_DURATION)
+                .doFinally(signal -> {
+                    running.decrementAndGet();
+                    finish(key);
+                })
+                .subscribe(null, e -> {
+                    failed.incrementAndGet();
+                    log.error("Error executing command for: " + key, e);
+                }, completed::incrementAndGet);
+    }
+
+    /**
+     * This will start the next waiting command in the lane or release the lane's slot.
+     *
+     * @param key - The guild id, or the user id for direct messages.
+     */
+    private void finish(String key) {
+        AtomicReference<Function<Scheduler, Mono<Void>>> next = new AtomicReference<>();
+        lanes.computeIfPresent(key, (k, lane) -> {
+            next.set(lane.waiting.pollFirst());
+            if (next.get() == null) {
+                lane.running--;
+                return lane.running == 0 ? null : lane;
+            }
+            return lane;
+        });
+
+        if (next.get() != null) {
+            start(key, next.get());
+        }
+    }
+
+    /**
+     * This will stop accepting commands, commands that are running will be allowed to finish.
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * This will return how many commands are waiting to run.
+     *
+     * @return int
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * This will return how many commands are running.
+     *
+     * @return int
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    /**
+     * This will return how many commands have finished without an error.
+     *
+     * @return long
+     */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * This will return how many commands have finished with an error, including ones that timed out.
+     *
+     * @return long
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * This will return how many commands were dropped because the queue was full.
+     *
+     * @return long
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * This is what happens to a command when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The new command is dropped.
+         */
+        REJECT,
+        /**
+         * The oldest waiting command from the same guild is dropped, if it has none the new command is dropped.
+         */
+        DROP_OLDEST;
+
+        /**
+         * This will return the policy from its config name e.g. "drop-oldest"
+         *
+         * @param name - The name in the config.
+         * @return {@link OverflowPolicy} - REJECT if the name is unknown.
+         */
+        public static OverflowPolicy fromString(String name) {
+            if (name != null && name.trim().equalsIgnoreCase("drop-oldest")) {
+                return DROP_OLDEST;
+            }
+            return REJECT;
+        }
+    }
+
+    private static final class Lane {
+        private final Deque<Function<Scheduler, Mono<Void>>> waiting = new ArrayDeque<>();
+        private int running;
+    }
+}
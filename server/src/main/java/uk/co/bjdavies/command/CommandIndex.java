@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import uk.co.bjdavies.api.command.ICommand;
+
+import java.util.*;
+
+/**
+ * This is an immutable lookup table for the commands inside the {@link CommandDispatcher}.
+ * Key: Namespace -> lower-cased alias -> lower-cased type, so finding a command is a hash lookup rather than a scan
+ * over every command in the namespace.
+ * <p>
+ * It is rebuilt whenever the dispatcher's commands change, it should never be mutated.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class CommandIndex {
+
+    /**
+     * This is the type key used for commands that can be run from any context e.g. "All"
+     */
+    private static final String ANY_TYPE = "*";
+
+    /**
+     * This is the largest edit distance that will be suggested for short command names, longer names allow one more.
+     */
+    private static final int MAX_SUGGESTION_DISTANCE = 2;
+
+    private static final CommandIndex EMPTY = new CommandIndex(Collections.emptyMap(),
+            NamespaceTrie.build(Collections.emptyList()), CommandSuggestionTree.build(Collections.emptyMap()));
+
+    private final Map<String, Map<String, Map<String, ICommand>>> index;
+
+    private final NamespaceTrie namespaces;
+
+    private final CommandSuggestionTree suggestions;
+
+    private CommandIndex(Map<String, Map<String, Map<String, ICommand>>> index, NamespaceTrie namespaces,
+                         CommandSuggestionTree suggestions) {
+        this.index = index;
+        this.namespaces = namespaces;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * This will return an index with no commands in it.
+     *
+     * @return {@link CommandIndex}
+     */
+    public static CommandIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * This will build an index from the commands, if two commands share an alias and type inside a namespace the
+     * first one registered wins, which is the same command the dispatcher would have found before.
+     *
+     * @param commands - Key: Namespace, Value: the commands in that namespace.
+     * @return {@link CommandIndex}
+     */
+    public static CommandIndex build(Map<String, List<ICommand>> commands) {
+        Map<String, Map<String, Map<String, ICommand>>> index = new HashMap<>();
+
+        commands.forEach((namespace, namespaceCommands) -> {
+            Map<String, Map<String, ICommand>> aliases = new HashMap<>();
+            namespaceCommands.forEach(command -> {
+                for (String alias : command.getAliases()) {
+                    Map<String, ICommand> types = aliases.computeIfAbsent(alias.toLowerCase(), a -> new HashMap<>());
+                    for (String type : getTypeKeys(command.getType())) {
+                        types.putIfAbsent(type, command);
+                    }
+                }
+            });
+
+            Map<String, Map<String, ICommand>> frozen = new HashMap<>();
+            aliases.forEach((alias, types) -> frozen.put(alias, Map.copyOf(types)));
+            index.put(namespace, Map.copyOf(frozen));
+        });
+
+        return new CommandIndex(Map.copyOf(index), NamespaceTrie.build(commands.keySet()),
+                CommandSuggestionTree.build(commands));
+    }
+
+    /**
+     * This will split the command's type into the keys it is indexed under.
+     * e.g. "All" -> "*", "Discord|Terminal" -> "discord", "terminal"
+     *
+     * @param commandType - The type of the command.
+     * @return List
+     */
+    private static List<String> getTypeKeys(String commandType) {
+        if (commandType.equals("All")) {
+            return Collections.singletonList(ANY_TYPE);
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (String type : commandType.split("\\|")) {
+            keys.add(type.trim().toLowerCase());
+        }
+        return keys;
+    }
+
+    /**
+     * This will return the longest registered namespace that the command name starts with.
+     *
+     * @param commandName - The name of the command including its namespace.
+     * @return String - the namespace or "" if none match.
+     */
+    public String resolveNamespace(String commandName) {
+        return namespaces.longestPrefix(commandName);
+    }
+
+    /**
+     * This will find a command by its alias (case insensitive) and the type of the context it is being ran from.
+     *
+     * @param namespace   - The namespace of the command.
+     * @param alias       - The alias of the command.
+     * @param contextType - The type of the command context e.g. "Discord"
+     * @return Optional
+     */
+    public Optional<ICommand> find(String namespace, String alias, String contextType) {
+        Map<String, Map<String, ICommand>> aliases = index.get(namespace);
+        if (aliases == null) {
+            return Optional.empty();
+        }
+
+        Map<String, ICommand> types = aliases.get(alias.toLowerCase());
+        if (types == null) {
+            return Optional.empty();
+        }
+
+        ICommand command = types.get(contextType.toLowerCase());
+        return Optional.ofNullable(command != null ? command : types.get(ANY_TYPE));
+    }
+
+    /**
+     * This will suggest the closest commands to a command name that could not be found, closest first.
+     *
+     * @param commandName - The name of the command including its namespace.
+     * @param contextType - The type of the command context e.g. "Discord"
+     * @param limit       - The maximum amount of suggestions.
+     * @return List
+     */
+    public List<CommandSuggestionTree.Suggestion> suggest(String commandName, String contextType, int limit) {
+        int maxDistance = commandName.length() < 8 ? MAX_SUGGESTION_DISTANCE : MAX_SUGGESTION_DISTANCE + 1;
+        String type = contextType.toLowerCase();
+        return suggestions.suggest(commandName, maxDistance, command -> {
+            List<String> typeKeys = getTypeKeys(command.getType());
+            return typeKeys.contains(type) || typeKeys.contains(ANY_TYPE);
+        }, limit);
+    }
+}
@@ -28,6 +28,10 @@ package uk.co.bjdavies.command;
 import com.google.inject.AbstractModule;
 import lombok.Getter;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
+import uk.co.bjdavies.api.command.IResponseHandlerRegistry;
+import uk.co.bjdavies.api.metrics.ICommandMetrics;
+import uk.co.bjdavies.command.response.ResponseHandlerFactory;
+import uk.co.bjdavies.metrics.CommandMetrics;
 
 /**
  * This is a module class that allows to inject command stuff into a class when using {@link com.google.inject.Inject}
@@ -39,14 +43,20 @@ public class CommandModule extends AbstractModule {
     @Getter
     private final ICommandDispatcher commandDispatcher;
 
+    private final CommandMetrics commandMetrics;
+
 
     public CommandModule() {
-        this.commandDispatcher = new CommandDispatcher();
+        this.commandMetrics = new CommandMetrics();
+        this.commandDispatcher = new CommandDispatcher(commandMetrics);
     }
 
     @Override
     protected void configure() {
         bind(ICommandDispatcher.class).toInstance(this.commandDispatcher);
+        bind(CommandMetrics.class).toInstance(this.commandMetrics);
+        bind(ICommandMetrics.class).toInstance(this.commandMetrics);
+        bind(IResponseHandlerRegistry.class).toInstance(ResponseHandlerFactory.getRegistry());
     }
 
 }
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import uk.co.bjdavies.api.command.IAsyncCommandMiddleware;
+import uk.co.bjdavies.api.command.ICommand;
+import uk.co.bjdavies.api.command.ICommandMiddleware;
+import uk.co.bjdavies.api.plugins.IPlugin;
+
+import java.util.*;
+
+/**
+ * This is the copy-on-write store of commands and middleware used by the {@link CommandDispatcher}.
+ * <p>
+ * Every change builds a new immutable {@link Snapshot} and publishes it through a volatile field, so readers
+ * (the discord event threads) never take a lock and never see a half-applied change. Plugins can be registered
+ * while commands are being dispatched without a {@link ConcurrentModificationException}.
+ * Writers are serialized, which is fine as registering is rare compared to dispatching.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+public final class CommandRegistry {
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * This will return the current snapshot, hold on to it for the duration of a command so every lookup agrees.
+     *
+     * @return {@link Snapshot}
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * This will add a command to a namespace, creating the namespace if needed.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The command you wish to add.
+     */
+    public synchronized void addCommand(String namespace, ICommand command) {
+        Map<String, List<ICommand>> commands = new LinkedHashMap<>(snapshot.commands);
+        if (!commands.containsKey(namespace)) {
+            log.info("Namespace: " + namespace + " has not been created yet, creating now...");
+        }
+        List<ICommand> namespaceCommands = new ArrayList<>(commands.getOrDefault(namespace, Collections.emptyList()));
+        if (commandExists(namespaceCommands, command)) {
+            log.warn("Command: " + command.getAliases()[0] + ", already exists inside namespace: " + namespace);
+            return;
+        }
+        namespaceCommands.add(command);
+        commands.put(namespace, namespaceCommands);
+        publishCommands(commands);
+    }
+
+    /**
+     * This will add a namespace of commands, if the namespace exists they will be appended to it.
+     *
+     * @param namespace     - The namespace of the commands.
+     * @param commandsToAdd - The commands you wish to add.
+     */
+    public synchronized void addNamespace(String namespace, List<ICommand> commandsToAdd) {
+        Map<String, List<ICommand>> commands = new LinkedHashMap<>(snapshot.commands);
+        List<ICommand> namespaceCommands = new ArrayList<>();
+        if (commands.containsKey(namespace)) {
+            log.info("Namespace: " + namespace + " has already been created.");
+            log.warn("Plugin with this namespace already exists please consider changing it.");
+            namespaceCommands.addAll(commands.get(namespace));
+        }
+        namespaceCommands.addAll(commandsToAdd);
+        commands.put(namespace, namespaceCommands);
+        publishCommands(commands);
+    }
+
+    /**
+     * This will remove a namespace and all of its commands.
+     *
+     * @param namespace - The namespace you wish to remove.
+     */
+    public synchronized void removeNamespace(String namespace) {
+        if (!snapshot.commands.containsKey(namespace)) {
+            log.info("Namespace: " + namespace + " has not been created so you cannot remove it.");
+            return;
+        }
+        Map<String, List<ICommand>> commands = new LinkedHashMap<>(snapshot.commands);
+        commands.remove(namespace);
+        publishCommands(commands);
+    }
+
+    /**
+     * This will remove a command from a namespace.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The command you wish to remove.
+     */
+    public synchronized void removeCommand(String namespace, ICommand command) {
+        if (!snapshot.commands.containsKey(namespace)) {
+            log.error("Namespace: " + namespace + " has not been created yet, cannot remove command");
+            return;
+        }
+        List<ICommand> namespaceCommands = new ArrayList<>(snapshot.commands.get(namespace));
+        if (!namespaceCommands.remove(command)) {
+            log.error("Command is not part of the dispatcher so it cannot be removed.");
+            return;
+        }
+        Map<String, List<ICommand>> commands = new LinkedHashMap<>(snapshot.commands);
+        commands.put(namespace, namespaceCommands);
+        publishCommands(commands);
+    }
+
+    /**
+     * This will add a middleware that runs before every command.
+     *
+     * @param middleware - The middleware to add.
+     */
+    public void addGlobalMiddleware(ICommandMiddleware middleware) {
+        addGlobalMiddleware(MiddlewareChain.Link.of(middleware));
+    }
+
+    /**
+     * This will add an async middleware that runs before every command.
+     *
+     * @param middleware - The middleware to add.
+     */
+    public void addAsyncGlobalMiddleware(IAsyncCommandMiddleware middleware) {
+        addGlobalMiddleware(MiddlewareChain.Link.ofAsync(middleware));
+    }
+
+    /**
+     * This will add a middleware that runs before the commands in the plugin's namespace.
+     *
+     * @param plugin     - The plugin the middleware belongs to.
+     * @param middleware - The middleware to add.
+     */
+    public void addPluginMiddleware(IPlugin plugin, ICommandMiddleware middleware) {
+        addPluginMiddleware(plugin, MiddlewareChain.Link.of(middleware));
+    }
+
+    /**
+     * This will add an async middleware that runs before the commands in the plugin's namespace.
+     *
+     * @param plugin     - The plugin the middleware belongs to.
+     * @param middleware - The middleware to add.
+     */
+    public void addAsyncPluginMiddleware(IPlugin plugin, IAsyncCommandMiddleware middleware) {
+        addPluginMiddleware(plugin, MiddlewareChain.Link.ofAsync(middleware));
+    }
+
+    private synchronized void addGlobalMiddleware(MiddlewareChain.Link link) {
+        List<MiddlewareChain.Link> globalMiddleware = new ArrayList<>(snapshot.globalMiddleware);
+        globalMiddleware.add(link);
+        publishMiddleware(List.copyOf(globalMiddleware), snapshot.pluginMiddleware);
+    }
+
+    private synchronized void addPluginMiddleware(IPlugin plugin, MiddlewareChain.Link link) {
+        Map<IPlugin, List<MiddlewareChain.Link>> pluginMiddleware = new LinkedHashMap<>(snapshot.pluginMiddleware);
+        List<MiddlewareChain.Link> links = new ArrayList<>(pluginMiddleware.getOrDefault(plugin,
+                Collections.emptyList()));
+        links.add(link);
+        pluginMiddleware.put(plugin, List.copyOf(links));
+        publishMiddleware(snapshot.globalMiddleware, Collections.unmodifiableMap(pluginMiddleware));
+    }
+
+    /**
+     * This will compile a middleware chain for every namespace that has plugin middleware and publish a new snapshot.
+     * Namespaces without plugin middleware share the global chain.
+     *
+     * @param globalMiddleware - The middleware that runs before every command.
+     * @param pluginMiddleware - The middleware of each plugin.
+     */
+    private void publishMiddleware(List<MiddlewareChain.Link> globalMiddleware,
+                                   Map<IPlugin, List<MiddlewareChain.Link>> pluginMiddleware) {
+        Map<String, List<MiddlewareChain.Link>> namespaceMiddleware = new HashMap<>();
+        pluginMiddleware.forEach((plugin, links) -> namespaceMiddleware
+                .computeIfAbsent(plugin.getNamespace(), namespace -> new ArrayList<>(globalMiddleware))
+                .addAll(links));
+
+        Map<String, MiddlewareChain> chains = new HashMap<>();
+        namespaceMiddleware.forEach((namespace, links) -> chains.put(namespace, MiddlewareChain.compile(links)));
+
+        snapshot = new Snapshot(snapshot.commands, snapshot.index, globalMiddleware, pluginMiddleware,
+                MiddlewareChain.compile(globalMiddleware), Collections.unmodifiableMap(chains));
+    }
+
+    /**
+     * This will freeze the commands, rebuild the index and publish a new snapshot.
+     *
+     * @param commands - The new commands, Key: Namespace.
+     */
+    private void publishCommands(Map<String, List<ICommand>> commands) {
+        Map<String, List<ICommand>> frozen = new LinkedHashMap<>();
+        commands.forEach((namespace, namespaceCommands) -> frozen.put(namespace, List.copyOf(namespaceCommands)));
+        snapshot = new Snapshot(Collections.unmodifiableMap(frozen), CommandIndex.build(frozen),
+                snapshot.globalMiddleware, snapshot.pluginMiddleware, snapshot.globalChain, snapshot.middlewareChains);
+    }
+
+    private static boolean commandExists(List<ICommand> namespaceCommands, ICommand command) {
+        boolean aliases = checkAliases(namespaceCommands, command);
+        return !aliases && !namespaceCommands.contains(command);
+    }
+
+    /**
+     * This will check that none of the command's aliases are already used by the commands given.
+     *
+     * @param namespaceCommands - The commands to check against.
+     * @param command           - The command to check.
+     * @return boolean - true if none of the aliases are used.
+     */
+    private static boolean checkAliases(List<ICommand> namespaceCommands, ICommand command) {
+        List<String> commandAliases = Arrays.asList(command.getAliases());
+        return namespaceCommands.stream()
+                .flatMap(c -> Arrays.stream(c.getAliases()))
+                .noneMatch(commandAliases::contains);
+    }
+
+    /**
+     * This is an immutable view of the registry at a point in time.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), CommandIndex.empty(),
+                Collections.emptyList(), Collections.emptyMap(), MiddlewareChain.compile(Collections.emptyList()),
+                Collections.emptyMap());
+
+        /**
+         * Key: Namespace - e.g. "" which wont require a command prefix
+         * e.g. "bb" which would require a bb prefix;
+         */
+        @Getter
+        private final Map<String, List<ICommand>> commands;
+
+        @Getter
+        private final CommandIndex index;
+
+        private final List<MiddlewareChain.Link> globalMiddleware;
+
+        private final Map<IPlugin, List<MiddlewareChain.Link>> pluginMiddleware;
+
+        private final MiddlewareChain globalChain;
+
+        /**
+         * Key: Namespace, only namespaces with plugin middleware are in here.
+         */
+        private final Map<String, MiddlewareChain> middlewareChains;
+
+        private Snapshot(Map<String, List<ICommand>> commands, CommandIndex index,
+                         List<MiddlewareChain.Link> globalMiddleware,
+                         Map<IPlugin, List<MiddlewareChain.Link>> pluginMiddleware,
+                         MiddlewareChain globalChain, Map<String, MiddlewareChain> middlewareChains) {
+            this.commands = commands;
+            this.index = index;
+            this.globalMiddleware = globalMiddleware;
+            this.pluginMiddleware = pluginMiddleware;
+            this.globalChain = globalChain;
+            this.middlewareChains = middlewareChains;
+        }
+
+        /**
+         * This will return the middleware chain that has to pass before a command in the namespace can run.
+         *
+         * @param namespace - The namespace of the command.
+         * @return {@link MiddlewareChain}
+         */
+        public MiddlewareChain getMiddlewareChain(String namespace) {
+            return middlewareChains.getOrDefault(namespace, globalChain);
+        }
+    }
+}
@@ -27,114 +27,144 @@ package uk.co.bjdavies.command;
 
 import discord4j.core.spec.EmbedCreateSpec;
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.EmitterProcessor;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxProcessor;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.concurrent.Queues;
 import uk.co.bjdavies.api.command.ICommandResponse;
 import uk.co.bjdavies.api.command.IResponse;
 import uk.co.bjdavies.command.response.ResponseHandler;
 import uk.co.bjdavies.command.response.ResponseHandlerFactory;
+import uk.co.bjdavies.command.response.ResponseTypes;
 
-import java.lang.reflect.ParameterizedType;
+import javax.annotation.Nullable;
 import java.lang.reflect.Type;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
+ * Every send is queued as its own publisher and they are only subscribed to once the dispatcher subscribes, so the
+ * responses are pulled with backpressure instead of being pushed into a buffer. Every send holds the responses open
+ * until it has finished so that a command can send more than once, and the dispatcher holds them open until the
+ * command has returned.
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.2.7
  */
 @Slf4j
 public class CommandResponse implements ICommandResponse {
 
-    private final FluxProcessor<IResponse, IResponse> processor;
+    /**
+     * This is the most sends that can be in progress for one command, going over this will fail the send.
+     */
+    private static final int MAX_PENDING_SENDS = Queues.SMALL_BUFFER_SIZE;
+
+    /**
+     * This is how many responses are requested from each send at a time.
+     */
+    private static final int PREFETCH = Queues.XS_BUFFER_SIZE;
+
+    private final UnicastProcessor<Flux<IResponse>> sends;
+    private final FluxSink<Flux<IResponse>> sink;
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final AtomicBoolean finished = new AtomicBoolean();
 
     public CommandResponse() {
-        log.info("Constructor");
-        processor = EmitterProcessor.create();
+        sends = UnicastProcessor.create(Queues.<Flux<IResponse>>unbounded(Queues.XS_BUFFER_SIZE).get());
+        sink = sends.sink();
     }
 
     @Override
     public boolean sendEmbed(Consumer<EmbedCreateSpec> embed) {
-        return send(createEmbedType(), embed);
+        return send(ResponseTypes.EMBED, embed);
     }
 
     @Override
     public boolean sendEmbed(Mono<Consumer<EmbedCreateSpec>> embed) {
-        return send(createMonoType(createEmbedType()), embed);
+        return send(ResponseTypes.MONO_EMBED, embed);
     }
 
     @Override
     public boolean sendEmbed(Flux<Consumer<EmbedCreateSpec>> embed) {
-        return send(createFluxType(createEmbedType()), embed);
+        return send(ResponseTypes.FLUX_EMBED, embed);
     }
 
     @Override
     public boolean sendString(String string) {
-        return send(string.getClass(), string);
+        return send(ResponseTypes.STRING, string);
     }
 
     @Override
     public boolean sendString(Mono<String> string) {
-        return send(createMonoType(String.class), string);
+        return send(ResponseTypes.MONO_STRING, string);
     }
 
     @Override
     public boolean sendString(Flux<String> string) {
-        return send(createFluxType(String.class), string);
+        return send(ResponseTypes.FLUX_STRING, string);
     }
 
 
-    private ParameterizedType createFluxType(Type typeOfFlux) {
-        return createType(Flux.class, typeOfFlux);
-    }
-
-    private ParameterizedType createMonoType(Type typeOfMono) {
-        return createType(Mono.class, typeOfMono);
-    }
-
-    private ParameterizedType createEmbedType() {
-        return createType(Consumer.class, EmbedCreateSpec.class);
+    @Override
+    public boolean send(Type type, Object obj) {
+        return send(type, ResponseHandlerFactory.getHandler(type), obj);
     }
 
-    private ParameterizedType createType(Type raw, Type arg) {
-        return new ParameterizedType() {
-            @Override
-            public Type[] getActualTypeArguments() {
-                return new Type[]{arg};
-            }
+    /**
+     * This will send a response with a handler that has already been resolved for its type.
+     *
+     * @param type            - this is the type of response
+     * @param responseHandler - the handler for the type or null if the type is not supported.
+     * @param obj             - The response
+     * @return boolean
+     */
+    public boolean send(Type type, @Nullable ResponseHandler responseHandler, Object obj) {
+
+        if (responseHandler == null) {
+            log.error("Unable to send Object of type: " + type + ", through the command dispatcher.");
+            return false;
+        }
 
-            @Override
-            public Type getRawType() {
-                return raw;
-            }
+        if (!acquire()) {
+            log.error("Unable to send Object of type: " + type + ", the command has already finished responding " +
+                    "or has too many sends in progress.");
+            return false;
+        }
 
-            @Override
-            public Type getOwnerType() {
-                return null;
-            }
-        };
+        sink.next(responseHandler.handle(obj)
+                .onErrorResume(e -> {
+                    log.error("Unable to send a response of type: " + type, e);
+                    return Flux.empty();
+                })
+                .doFinally(signal -> release()));
+        return true;
     }
 
-
     @Override
-    public boolean send(Type type, Object obj) {
-
-        ResponseHandler responseHandler = ResponseHandlerFactory.getHandler(type, processor);
-
-        if (responseHandler != null) {
-            responseHandler.handle(obj);
-            return true;
+    public Flux<IResponse> getResponses() {
+        if (finished.compareAndSet(false, true)) {
+            release();
         }
+        return sends.flatMap(responses -> responses, MAX_PENDING_SENDS, PREFETCH);
+    }
 
-        processor.onComplete();
-        log.error("Unable to send Object of type: " + type + ", through the command dispatcher.");
-        return false;
+    private boolean acquire() {
+        int current;
+        do {
+            current = pending.get();
+            if (current == 0 || current > MAX_PENDING_SENDS) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
     }
 
-    @Override
-    public FluxProcessor<IResponse, IResponse> getResponses() {
-        return processor;
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            sink.complete();
+        }
     }
 
 }
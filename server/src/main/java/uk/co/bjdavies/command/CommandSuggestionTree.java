@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import lombok.Getter;
+import uk.co.bjdavies.api.command.ICommand;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * This is a BK-tree of every command name (namespace + alias) in the {@link CommandDispatcher}, it is used to
+ * suggest the closest commands by edit distance when a command could not be found.
+ * <p>
+ * A search only visits the branches that can be within the distance asked for, rather than every alias of every
+ * namespace. It is rebuilt with the {@link CommandIndex} and should never be mutated.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class CommandSuggestionTree {
+
+    private final Node root;
+
+    private final int longestName;
+
+    private CommandSuggestionTree(Node root, int longestName) {
+        this.root = root;
+        this.longestName = longestName;
+    }
+
+    /**
+     * This will build a tree from the commands.
+     *
+     * @param commands - Key: Namespace, Value: the commands in that namespace.
+     * @return {@link CommandSuggestionTree}
+     */
+    public static CommandSuggestionTree build(Map<String, List<ICommand>> commands) {
+        Node root = null;
+        int longestName = 0;
+        for (Map.Entry<String, List<ICommand>> entry : commands.entrySet()) {
+            String namespace = entry.getKey();
+            for (ICommand command : entry.getValue()) {
+                for (String alias : command.getAliases()) {
+                    Entry suggestion = new Entry(namespace, command);
+                    String name = (namespace + alias).toLowerCase();
+                    longestName = Math.max(longestName, name.length());
+                    if (root == null) {
+                        root = new Node(name);
+                        root.entries.add(suggestion);
+                    } else {
+                        root.add(name, suggestion);
+                    }
+                }
+            }
+        }
+        return new CommandSuggestionTree(root, longestName);
+    }
+
+    /**
+     * This will return the closest commands to the name given, closest first.
+     *
+     * @param commandName - The name of the command including its namespace.
+     * @param maxDistance - The largest edit distance that will be suggested.
+     * @param filter      - Only commands that pass this filter will be suggested.
+     * @param limit       - The maximum amount of suggestions.
+     * @return List - at most one suggestion per command.
+     */
+    public List<Suggestion> suggest(String commandName, int maxDistance, Predicate<ICommand> filter, int limit) {
+        if (root == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        char[] name = commandName.toLowerCase().toCharArray();
+        int[] previous = new int[longestName + 1];
+        int[] current = new int[longestName + 1];
+        Map<ICommand, Suggestion> closest = new HashMap<>();
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            //Only the children within maxDistance of this node's distance can match, so nothing past that is needed.
+            int distance = distance(name, node.name, node.maxChildDistance + maxDistance, previous, current);
+            if (distance <= maxDistance) {
+                for (Entry entry : node.entries) {
+                    Suggestion best = closest.get(entry.command);
+                    if ((best == null || best.distance > distance) && filter.test(entry.command)) {
+                        closest.put(entry.command, new Suggestion(entry.namespace, entry.command, distance));
+                    }
+                }
+            }
+
+            int max = Math.min(distance + maxDistance, node.maxChildDistance);
+            for (int d = Math.max(1, distance - maxDistance); d <= max; d++) {
+                Node child = node.children.get(d);
+                if (child != null) {
+                    nodes.push(child);
+                }
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(closest.values());
+        suggestions.sort(Comparator.comparingInt(Suggestion::getDistance).thenComparing(Suggestion::getName));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    /**
+     * This will return the Levenshtein distance between two strings, giving up once it is known to be over the limit.
+     * Only the diagonal band of width limit * 2 + 1 is worked out, which is all a distance within the limit can use.
+     *
+     * @param a        - The first string.
+     * @param b        - The second string.
+     * @param limit    - The largest distance that needs to be exact.
+     * @param previous - A scratch row at least b.length + 1 long.
+     * @param current  - A scratch row at least b.length + 1 long.
+     * @return int - the distance or limit + 1 if it is larger than the limit.
+     */
+    private static int distance(char[] a, char[] b, int limit, int[] previous, int[] current) {
+        int over = limit + 1;
+        if (Math.abs(a.length - b.length) > limit) {
+            return over;
+        }
+
+        for (int j = 0; j <= b.length; j++) {
+            previous[j] = j <= limit ? j : over;
+        }
+
+        for (int i = 1; i <= a.length; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(b.length, i + limit);
+            current[from - 1] = from == 1 && i <= limit ? i : over;
+            int rowMin = current[from - 1];
+            char c = a[i - 1];
+            for (int j = from; j <= to; j++) {
+                int value = Math.min(current[j - 1], previous[j]) + 1;
+                int diagonal = previous[j - 1] + (c == b[j - 1] ? 0 : 1);
+                value = Math.min(Math.min(value, diagonal), over);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < b.length) {
+                current[to + 1] = over;
+            }
+            if (rowMin > limit) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+
+    /**
+     * This is a command that is close to the name that was searched for.
+     */
+    @Getter
+    public static final class Suggestion {
+
+        private final String namespace;
+
+        private final ICommand command;
+
+        private final int distance;
+
+        private Suggestion(String namespace, ICommand command, int distance) {
+            this.namespace = namespace;
+            this.command = command;
+            this.distance = distance;
+        }
+
+        /**
+         * This will return the name the command would be ran with e.g. "bb-help"
+         *
+         * @return String
+         */
+        public String getName() {
+            return namespace + command.getAliases()[0];
+        }
+    }
+
+    private static final class Entry {
+        private final String namespace;
+        private final ICommand command;
+
+        private Entry(String namespace, ICommand command) {
+            this.namespace = namespace;
+            this.command = command;
+        }
+    }
+
+    private static final class Node {
+        private final char[] name;
+        private final List<Entry> entries = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>();
+        private int maxChildDistance;
+
+        private Node(String name) {
+            this.name = name.toCharArray();
+        }
+
+        private void add(String name, Entry entry) {
+            char[] chars = name.toCharArray();
+            int[] previous = new int[chars.length + 1];
+            int[] current = new int[chars.length + 1];
+            Node node = this;
+            while (true) {
+                int distance = distance(node.name, chars, Math.max(node.name.length, chars.length), previous, current);
+                if (distance == 0) {
+                    node.entries.add(entry);
+                    return;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    child = new Node(name);
+                    child.entries.add(entry);
+                    node.children.put(distance, child);
+                    node.maxChildDistance = Math.max(node.maxChildDistance, distance);
+                    return;
+                }
+                node = child;
+            }
+        }
+    }
+}
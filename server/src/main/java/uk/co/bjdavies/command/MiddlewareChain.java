@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import reactor.core.publisher.Mono;
+import uk.co.bjdavies.api.command.IAsyncCommandMiddleware;
+import uk.co.bjdavies.api.command.ICommandContext;
+import uk.co.bjdavies.api.command.ICommandMiddleware;
+
+import java.util.List;
+
+/**
+ * This is the middleware that has to pass before a command in a namespace can run, global middleware first then the
+ * middleware of the plugins in that namespace.
+ * <p>
+ * It is compiled by the {@link CommandRegistry} when middleware is registered and stops at the first middleware
+ * that fails. Blocking middleware is called directly, so a chain without any async middleware never subscribes to
+ * anything.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class MiddlewareChain {
+
+    private static final Mono<Boolean> PASS = Mono.just(true);
+
+    private static final Mono<Boolean> FAIL = Mono.just(false);
+
+    private final Link[] links;
+
+    private MiddlewareChain(Link[] links) {
+        this.links = links;
+    }
+
+    /**
+     * This will compile a chain from the middleware, they will run in the order given.
+     *
+     * @param links - The middleware in the chain.
+     * @return {@link MiddlewareChain}
+     */
+    static MiddlewareChain compile(List<Link> links) {
+        return new MiddlewareChain(links.toArray(new Link[0]));
+    }
+
+    /**
+     * This will run the middleware in the chain until one fails.
+     *
+     * @param context - The context of the command that is about to run.
+     * @return Mono - true if every middleware passed.
+     */
+    public Mono<Boolean> test(ICommandContext context) {
+        return test(context, 0);
+    }
+
+    private Mono<Boolean> test(ICommandContext context, int from) {
+        for (int i = from; i < links.length; i++) {
+            Link link = links[i];
+            if (link.middleware != null) {
+                if (!link.middleware.onExecute(context)) {
+                    return FAIL;
+                }
+                continue;
+            }
+
+            int next = i + 1;
+            return link.asyncMiddleware.onExecute(context)
+                    .defaultIfEmpty(false)
+                    .flatMap(canRun -> canRun ? test(context, next) : FAIL);
+        }
+        return PASS;
+    }
+
+    /**
+     * This is a middleware in the chain, either blocking or async.
+     */
+    static final class Link {
+        private final ICommandMiddleware middleware;
+        private final IAsyncCommandMiddleware asyncMiddleware;
+
+        private Link(ICommandMiddleware middleware, IAsyncCommandMiddleware asyncMiddleware) {
+            this.middleware = middleware;
+            this.asyncMiddleware = asyncMiddleware;
+        }
+
+        static Link of(ICommandMiddleware middleware) {
+            return new Link(middleware, null);
+        }
+
+        static Link ofAsync(IAsyncCommandMiddleware middleware) {
+            return new Link(null, middleware);
+        }
+    }
+}
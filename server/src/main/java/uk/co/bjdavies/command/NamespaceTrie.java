@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is a prefix trie of the namespaces registered in the {@link CommandDispatcher}.
+ * It will resolve the longest namespace that a command name starts with in O(length of the command name), so the
+ * answer does not depend on the order the namespaces were registered in.
+ * <p>
+ * e.g. with the namespaces "", "bb" and "bb-" the command "bb-help" resolves to "bb-"
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class NamespaceTrie {
+
+    private final Node root;
+
+    private NamespaceTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * This will build a trie from the namespaces.
+     *
+     * @param namespaces - The namespaces to add to the trie.
+     * @return {@link NamespaceTrie}
+     */
+    public static NamespaceTrie build(Collection<String> namespaces) {
+        Node root = new Node();
+        for (String namespace : namespaces) {
+            Node node = root;
+            for (int i = 0; i < namespace.length(); i++) {
+                node = node.children.computeIfAbsent(namespace.charAt(i), c -> new Node());
+            }
+            node.terminal = true;
+        }
+        return new NamespaceTrie(root);
+    }
+
+    /**
+     * This will return the longest namespace the command name starts with.
+     *
+     * @param commandName - The name of the command including its namespace e.g. "bb-help"
+     * @return String - the namespace or "" if no namespace matches.
+     */
+    public String longestPrefix(String commandName) {
+        int longest = 0;
+        Node node = root;
+        for (int i = 0; i < commandName.length(); i++) {
+            node = node.children.get(commandName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                longest = i + 1;
+            }
+        }
+        return commandName.substring(0, longest);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.command;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.channel.MessageChannel;
+import discord4j.core.spec.EmbedCreateSpec;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import uk.co.bjdavies.api.config.ICommandConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * This is where command responses are sent to Discord.
+ * <p>
+ * Each channel has its own lane and only one message is sent to a channel at a time, which is how Discord's
+ * message rate limit buckets are scoped. A response waits {@link ICommandConfig#getResponseBatchWindowMillis()}
+ * before its lane is flushed. Every string waiting for the same channel is then joined into one message, up to
+ * {@link #MAX_CONTENT_LENGTH} characters. Anything sent while a message is in flight waits for it, so a channel
+ * that is being rate limited gets fewer, larger messages instead of a queue of small ones.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+@Singleton
+public class ResponseSender {
+
+    /**
+     * This is the most characters Discord allows in a message.
+     */
+    public static final int MAX_CONTENT_LENGTH = 2000;
+
+    private final long windowMillis;
+
+    /**
+     * Key: Channel id.
+     * A lane is removed once it has nothing waiting and nothing in flight.
+     */
+    private final ConcurrentHashMap<Snowflake, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicLong messages = new AtomicLong();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    @Inject
+    public ResponseSender(ICommandConfig config) {
+        this.windowMillis = Math.max(0, config.getResponseBatchWindowMillis());
+    }
+
+    /**
+     * This will send a string to a channel, it may be joined with other strings sent to the same channel.
+     *
+     * @param channel - The channel to send to.
+     * @param content - The string to send.
+     * @return Mono - This will complete once the message that contains the string has been sent.
+     */
+    public Mono<Void> sendMessage(MessageChannel channel, String content) {
+        return enqueue(channel, content, null);
+    }
+
+    /**
+     * This will send an embed to a channel, embeds are always sent in their own message.
+     *
+     * @param channel - The channel to send to.
+     * @param embed   - The embed to send.
+     * @return Mono - This will complete once the embed has been sent.
+     */
+    public Mono<Void> sendEmbed(MessageChannel channel, Consumer<EmbedCreateSpec> embed) {
+        return enqueue(channel, null, embed);
+    }
+
+    private Mono<Void> enqueue(MessageChannel channel, String content, Consumer<EmbedCreateSpec> embed) {
+        return Mono.create(sink -> {
+            Pending pending = new Pending(content, embed, sink);
+            boolean[] schedule = new boolean[1];
+            lanes.compute(channel.getId(), (k, lane) -> {
+                if (lane == null) {
+                    lane = new Lane(channel);
+                }
+                lane.waiting.add(pending);
+                if (!lane.busy) {
+                    lane.busy = true;
+                    schedule[0] = true;
+                }
+                return lane;
+            });
+            messages.incrementAndGet();
+
+            if (schedule[0]) {
+                if (windowMillis == 0) {
+                    flush(channel.getId());
+                } else {
+                    Schedulers.parallel().schedule(() -> flush(channel.getId()), windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+    }
+
+    /**
+     * This will send the next batch waiting in the lane, or remove the lane if nothing is waiting.
+     *
+     * @param channelId - The id of the channel.
+     */
+    private void flush(Snowflake channelId) {
+        List<Pending> batch = new ArrayList<>();
+        MessageChannel[] channel = new MessageChannel[1];
+        lanes.computeIfPresent(channelId, (k, lane) -> {
+            Pending first = lane.waiting.pollFirst();
+            if (first == null) {
+                return null;
+            }
+            batch.add(first);
+            channel[0] = lane.channel;
+            if (first.content != null) {
+                int length = first.content.length();
+                Pending next;
+                while ((next = lane.waiting.peekFirst()) != null && next.content != null &&
+                        length + 1 + next.content.length() <= MAX_CONTENT_LENGTH) {
+                    length += 1 + next.content.length();
+                    batch.add(lane.waiting.pollFirst());
+                }
+            }
+            return lane;
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        requests.incrementAndGet();
+        Pending first = batch.get(0);
+        Mono<?> send;
+        if (first.embed != null) {
+            send = channel[0].createEmbed(first.embed);
+        } else if (batch.size() == 1) {
+            send = channel[0].createMessage(first.content);
+        } else {
+            StringBuilder sb = new StringBuilder(first.content);
+            for (int i = 1; i < batch.size(); i++) {
+                sb.append("\n").append(batch.get(i).content);
+            }
+            send = channel[0].createMessage(sb.toString());
+        }
+
+        send.subscribe(null, e -> {
+            log.error("Unable to send a response to channel: " + channelId.asString(), e);
+            batch.forEach(p -> p.sink.error(e));
+            flush(channelId);
+        }, () -> {
+            batch.forEach(p -> p.sink.success());
+            flush(channelId);
+        });
+    }
+
+    /**
+     * This will return how many responses have been sent to the sender.
+     *
+     * @return long
+     */
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    /**
+     * This will return how many messages have been sent to Discord, this will be lower than
+     * {@link #getMessageCount()} when responses have been joined.
+     *
+     * @return long
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private static final class Lane {
+        private final MessageChannel channel;
+        private final Deque<Pending> waiting = new ArrayDeque<>();
+        private boolean busy;
+
+        private Lane(MessageChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private static final class Pending {
+        private final String content;
+        private final Consumer<EmbedCreateSpec> embed;
+        private final MonoSink<Void> sink;
+
+        private Pending(String content, Consumer<EmbedCreateSpec> embed, MonoSink<Void> sink) {
+            this.content = content;
+            this.embed = embed;
+            this.sink = sink;
+        }
+    }
+}
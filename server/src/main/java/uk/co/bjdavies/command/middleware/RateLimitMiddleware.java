@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command.middleware;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.entity.User;
+import lombok.extern.log4j.Log4j2;
+import uk.co.bjdavies.api.command.ICommandContext;
+import uk.co.bjdavies.api.command.ICommandMiddleware;
+import uk.co.bjdavies.api.config.ICommandConfig;
+import uk.co.bjdavies.api.config.IRateLimitConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a global middleware that rate limits commands per user, per guild and per command inside a guild.
+ * <p>
+ * Each bucket is a token bucket kept as a single theoretical arrival time (GCRA), so taking a token is one
+ * compare-and-set and never locks. Buckets are kept in a bounded cache and expire once they would have refilled,
+ * as a full bucket is the same as no bucket.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+public class RateLimitMiddleware implements ICommandMiddleware {
+
+    private final boolean enabled;
+
+    private final Limit userLimit;
+
+    private final Limit guildLimit;
+
+    private final Limit commandLimit;
+
+    private final Cache<String, Bucket> buckets;
+
+    @Inject
+    public RateLimitMiddleware(ICommandConfig config) {
+        IRateLimitConfig rateLimitConfig = config.getRateLimitConfig();
+        this.enabled = rateLimitConfig.isEnabled();
+        this.userLimit = Limit.of(rateLimitConfig.getUserLimit());
+        this.guildLimit = Limit.of(rateLimitConfig.getGuildLimit());
+        this.commandLimit = Limit.of(rateLimitConfig.getCommandLimit());
+
+        long expireAfter = Math.max(userLimit.refillNanos, Math.max(guildLimit.refillNanos, commandLimit.refillNanos));
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(1, rateLimitConfig.getMaxBuckets()))
+                .expireAfterAccess(Math.max(expireAfter, TimeUnit.SECONDS.toNanos(1)), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean onExecute(ICommandContext context) {
+        Message message = context.getMessage();
+        if (!enabled || message == null) {
+            return true;
+        }
+
+        String guildId = message.getGuildId().map(Snowflake::asString).orElse("dm");
+        String userId = message.getAuthor().map(User::getId).map(Snowflake::asString).orElse(null);
+        return tryAcquire(userId, guildId, context.getCommandName(), System.nanoTime());
+    }
+
+    /**
+     * This will take a token from the user's, the guild's and the command's bucket, if one of them is empty the
+     * tokens already taken are given back so a rejected command doesn't use up the other limits.
+     *
+     * @param userId      - The user's id or null if there is no author.
+     * @param guildId     - The guild's id or "dm" for direct messages.
+     * @param commandName - The name of the command.
+     * @param now         - The current time in nanoseconds.
+     * @return boolean - true if the command can run.
+     */
+    boolean tryAcquire(String userId, String guildId, String commandName, long now) {
+        String userKey = userId == null ? null : "user:" + userId;
+        String guildKey = "guild:" + guildId;
+
+        if (!tryAcquire(userKey, userLimit, now)) {
+            log.debug("User: " + userId + " has been rate limited");
+            return false;
+        }
+
+        if (!tryAcquire(guildKey, guildLimit, now)) {
+            refund(userKey, userLimit);
+            log.debug("Guild: " + guildId + " has been rate limited");
+            return false;
+        }
+
+        if (!tryAcquire("command:" + guildId + ":" + commandName, commandLimit, now)) {
+            refund(userKey, userLimit);
+            refund(guildKey, guildLimit);
+            log.debug("Command: " + commandName + " has been rate limited in guild: " + guildId);
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean tryAcquire(String key, Limit limit, long now) {
+        if (key == null || limit.isUnlimited()) {
+            return true;
+        }
+        return buckets.asMap().computeIfAbsent(key, k -> new Bucket(now - limit.refillNanos)).tryAcquire(limit, now);
+    }
+
+    private void refund(String key, Limit limit) {
+        if (key == null || limit.isUnlimited()) {
+            return;
+        }
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.refund(limit);
+        }
+    }
+
+    /**
+     * This is a token bucket's settings in nanoseconds.
+     */
+    private static final class Limit {
+
+        /**
+         * This is how long it takes for one token to be added back.
+         */
+        private final long intervalNanos;
+
+        /**
+         * This is how far the theoretical arrival time can be ahead of now, (capacity - 1) intervals.
+         */
+        private final long burstNanos;
+
+        /**
+         * This is how long an empty bucket takes to refill.
+         */
+        private final long refillNanos;
+
+        private Limit(long intervalNanos, long burstNanos, long refillNanos) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = burstNanos;
+            this.refillNanos = refillNanos;
+        }
+
+        private static Limit of(IRateLimitConfig.ILimit limit) {
+            if (limit == null || limit.getCapacity() <= 0 || limit.getRefillPerMinute() <= 0) {
+                return new Limit(0, 0, 0);
+            }
+            long intervalNanos = TimeUnit.MINUTES.toNanos(1) / limit.getRefillPerMinute();
+            return new Limit(intervalNanos, intervalNanos * (limit.getCapacity() - 1),
+                    intervalNanos * limit.getCapacity());
+        }
+
+        private boolean isUnlimited() {
+            return intervalNanos == 0;
+        }
+    }
+
+    /**
+     * This is a token bucket kept as the time the bucket would next be full (theoretical arrival time).
+     */
+    private static final class Bucket {
+
+        private final AtomicLong arrival;
+
+        private Bucket(long arrival) {
+            this.arrival = new AtomicLong(arrival);
+        }
+
+        private boolean tryAcquire(Limit limit, long now) {
+            while (true) {
+                long current = arrival.get();
+                long start = current - now > 0 ? current : now;
+                if (start - now > limit.burstNanos) {
+                    return false;
+                }
+                if (arrival.compareAndSet(current, start + limit.intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        private void refund(Limit limit) {
+            arrival.addAndGet(-limit.intervalNanos);
+        }
+    }
+}
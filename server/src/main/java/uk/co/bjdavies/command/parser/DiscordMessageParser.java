@@ -32,10 +32,15 @@ import uk.co.bjdavies.command.CommandContext;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
+ * This will parse a discord message in a single pass, e.g.
+ * <p>
+ * {@code help -page=2 -name="bot" -verbose some value}
+ * <p>
+ * Parameters must be preceded by a space, {@code -key=value} and {@code -key="value"} are stored with their value
+ * and {@code -flag} is stored with an empty value, everything else after the command name is the command's value.
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
  */
@@ -64,99 +69,104 @@ public class DiscordMessageParser implements MessageParser {
      */
     @Override
     public ICommandContext parseString(String message) {
-        return new CommandContext(parseCommandName(message).toLowerCase(), parseParams(message), parseValue(message), "Discord", this.message);
-    }
-
-
-    /**
-     * This will parse the value of the command if there is one.
-     *
-     * @param message - The raw inputted message.
-     * @return String
-     */
-    private String parseValue(String message) {
-        Matcher matcher = getParameterMatcher(message);
-        message = message.replace(parseCommandName(message), "");
-        while (matcher.find()) {
-            message = message.replace(matcher.group().trim(), "");
+        int length = message.length();
+        int indexOfFirstSpace = message.indexOf(' ');
+        if (indexOfFirstSpace == -1) {
+            return new CommandContext(message.toLowerCase(), new HashMap<>(), "", "Discord", this.message);
         }
 
-
-        matcher = getRawParameters(message);
-        while (matcher.find()) {
-            message = message.replace(matcher.group().trim(), "");
+        String commandName = message.substring(0, indexOfFirstSpace).trim().toLowerCase();
+        Map<String, String> params = new HashMap<>();
+        StringBuilder value = new StringBuilder(length - indexOfFirstSpace);
+
+        //A -key=value is removed before flags are looked for, so a flag directly after it is still preceded by a space.
+        boolean afterSpace = false;
+        int i = indexOfFirstSpace;
+        while (i < length) {
+            char c = message.charAt(i);
+            if (c != '-' || !afterSpace || i + 1 >= length || !isNameChar(message.charAt(i + 1))) {
+                value.append(c);
+                afterSpace = c == ' ';
+                i++;
+                continue;
+            }
+
+            int nameEnd = i + 1;
+            while (nameEnd < length && isNameChar(message.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            String name = message.substring(i + 1, nameEnd);
+
+            int valueEnd = message.charAt(i - 1) == ' ' ? parseParameterValue(message, nameEnd) : -1;
+            if (valueEnd == -1) {
+                params.put(name, "");
+                afterSpace = false;
+                i = nameEnd;
+                continue;
+            }
+
+            //A flag always wins over a value with the same name.
+            if (!"".equals(params.get(name))) {
+                boolean quoted = message.charAt(nameEnd + 1) == '"';
+                params.put(name, quoted
+                        ? message.substring(nameEnd + 2, valueEnd - 1)
+                        : message.substring(nameEnd + 1, valueEnd));
+            }
+            i = valueEnd;
         }
 
-
-        message = message.trim();
-        return message;
+        return new CommandContext(commandName, params, value.toString().trim(), "Discord", this.message);
     }
 
 
     /**
-     * This will parse the command name from the message.
+     * This will parse the value of a parameter starting at the '=' after its name.
      *
      * @param message - The raw inputted message.
-     * @return String
+     * @param start   - The index just after the parameter's name.
+     * @return int - the index just after the value, or -1 if the parameter doesn't have a value.
      */
-    private String parseCommandName(String message) {
-        int indexOfFirstSpace = message.indexOf(" ");
-
-        if (indexOfFirstSpace == -1) {
-            return message;
-        } else {
-            return message.substring(0, indexOfFirstSpace).trim();
+    private static int parseParameterValue(String message, int start) {
+        int length = message.length();
+        if (start + 1 >= length || message.charAt(start) != '=') {
+            return -1;
         }
-    }
-
 
-    /**
-     * This will parse the parameters from the inputted message
-     *
-     * @param message - The raw inputted message.
-     * @return Map(String, String)
-     */
-    private Map<String, String> parseParams(String message) {
-        Map<String, String> params = new HashMap<>();
-        Matcher matcher = getParameterMatcher(message);
-        String copy = new String(message.getBytes());
-        while (matcher.find()) {
-            String name = matcher.group(1).trim();
-            String value = matcher.group(2).replaceAll("\"", "").trim();
-            params.put(name, value);
-            copy = copy.replace(matcher.group().trim(), "");
+        boolean quoted = message.charAt(start + 1) == '"';
+        int valueStart = quoted ? start + 2 : start + 1;
+        int valueEnd = valueStart;
+        while (valueEnd < length && isValueChar(message.charAt(valueEnd))) {
+            valueEnd++;
         }
 
-        matcher = getRawParameters(copy);
+        if (valueEnd == valueStart) {
+            return -1;
+        }
 
-        while (matcher.find()) {
-            String name = matcher.group(1).trim();
-            params.put(name, "");
+        if (quoted) {
+            return valueEnd < length && message.charAt(valueEnd) == '"' ? valueEnd + 1 : -1;
         }
 
-        return params;
+        return valueEnd;
     }
 
-
-    /**
-     * This will parse the parameters in the message and return a Matcher.
-     *
-     * @param message - The raw inputted message.
-     * @return Matcher
-     */
-    private Matcher getParameterMatcher(String message) {
-        String parameterRegex = " -([a-zA-Z0-9]+)=(([a-zA-Z0-9:/?=&_.\\-]+)|(\"([a-zA-Z0-9:/?=&_.\\-]+)\"))";
-
-        Pattern pattern = Pattern.compile(parameterRegex);
-
-        return pattern.matcher(message);
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
-    private Matcher getRawParameters(String message) {
-        String parameterRegex = " -([a-zA-Z0-9]+)";
-
-        Pattern pattern = Pattern.compile(parameterRegex);
-
-        return pattern.matcher(message);
+    private static boolean isValueChar(char c) {
+        switch (c) {
+            case ':':
+            case '/':
+            case '?':
+            case '=':
+            case '&':
+            case '_':
+            case '.':
+            case '-':
+                return true;
+            default:
+                return isNameChar(c);
+        }
     }
 }
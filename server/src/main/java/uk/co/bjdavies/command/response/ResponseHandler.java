@@ -22,11 +22,9 @@
  * SOFTWARE.
  *
  */
-
 package uk.co.bjdavies.command.response;
 
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.Mono;
 import uk.co.bjdavies.api.command.IResponse;
 
@@ -35,63 +33,43 @@ import java.lang.reflect.Type;
 
 
 /**
+ * A handler is resolved once per response type and holds no per command state, so the same instance
+ * can be shared across every command that responds with that type.
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.2.7
  */
 public abstract class ResponseHandler {
 
-    private final FluxProcessor<IResponse, IResponse> processor;
     private final Type type;
+    private final boolean flux;
+    private final boolean mono;
 
 
-    protected ResponseHandler(Type type, FluxProcessor<IResponse, IResponse> processor) {
-        this.processor = processor;
+    protected ResponseHandler(Type type) {
         this.type = type;
-
+        Type raw = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : null;
+        this.flux = raw == Flux.class;
+        this.mono = raw == Mono.class;
     }
 
-    public void handle(Object o) {
-        if (isAFlux()) {
+    public Flux<IResponse> handle(Object o) {
+        if (o == null && (flux || mono)) {
+            return Flux.empty();
+        } else if (flux) {
             //noinspection unchecked
-            handleFlux(((Flux<Object>) o).map(this::getResponse));
-        } else if (isAMono()) {
+            return ((Flux<Object>) o).map(this::getResponse);
+        } else if (mono) {
             //noinspection unchecked
-            handleMono(((Mono<Object>) o).map(this::getResponse));
+            return ((Mono<Object>) o).map(this::getResponse).flux();
         } else {
-            handleBase(getResponse(o));
+            return Flux.just(getResponse(o));
         }
     }
 
-    protected abstract <T> IResponse getResponse(T o);
-
-    private boolean isParamType() {
-        return type instanceof ParameterizedType;
+    public Type getType() {
+        return type;
     }
 
-    private boolean isAFlux() {
-        if (isParamType()) {
-            return ((ParameterizedType) type).getRawType() == Flux.class;
-        }
-        return false;
-    }
-
-    private boolean isAMono() {
-        if (isParamType()) {
-            return ((ParameterizedType) type).getRawType() == Mono.class;
-        }
-        return false;
-    }
-
-    private void handleFlux(Flux<IResponse> responses) {
-        responses.subscribe(processor::onNext, null, processor::onComplete);
-    }
-
-    private void handleMono(Mono<IResponse> response) {
-        response.subscribe(processor::onNext, null, processor::onComplete);
-    }
-
-    private void handleBase(IResponse response) {
-        processor.onNext(response);
-        processor.onComplete();
-    }
+    protected abstract <T> IResponse getResponse(T o);
 }
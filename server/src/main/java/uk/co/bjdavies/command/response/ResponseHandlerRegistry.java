@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.command.response;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.co.bjdavies.api.command.IResponse;
+import uk.co.bjdavies.api.command.IResponseHandlerRegistry;
+import uk.co.bjdavies.command.response.handlers.ConverterHandler;
+import uk.co.bjdavies.command.response.handlers.EmbedHandler;
+import uk.co.bjdavies.command.response.handlers.StringHandler;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * This holds a handler factory for each base response type and caches the resolved handler for each full type,
+ * so a type is only walked the first time a command responds with it.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Slf4j
+public class ResponseHandlerRegistry implements IResponseHandlerRegistry {
+
+    private final Map<Type, Function<Type, ResponseHandler>> factories = new ConcurrentHashMap<>();
+    private final Map<Type, ResponseHandler> handlers = new ConcurrentHashMap<>();
+
+    public ResponseHandlerRegistry() {
+        factories.put(ResponseTypes.STRING, StringHandler::new);
+        factories.put(ResponseTypes.EMBED, EmbedHandler::new);
+    }
+
+    @Override
+    public <T> boolean register(Class<T> type, Function<? super T, IResponse> converter) {
+        return registerGeneric(type, o -> converter.apply(type.cast(o)));
+    }
+
+    @Override
+    public boolean registerGeneric(Type type, Function<Object, IResponse> converter) {
+        if (isAMono(type) || isAFlux(type)) {
+            throw new IllegalArgumentException("Register the type inside of the Mono or Flux: " + type);
+        }
+        boolean registered = factories.putIfAbsent(type, t -> new ConverterHandler(t, converter)) == null;
+        if (registered) {
+            log.info("Registered response type: " + type.getTypeName());
+        }
+        return registered;
+    }
+
+    @Override
+    public boolean isSupported(Type type) {
+        return getHandler(type) != null;
+    }
+
+    /**
+     * This will return the handler for a response type.
+     *
+     * @param type - The type of the response.
+     * @return ResponseHandler or null if the type is not supported.
+     */
+    @Nullable
+    public ResponseHandler getHandler(Type type) {
+        ResponseHandler handler = handlers.get(type);
+        if (handler != null) {
+            return handler;
+        }
+
+        Type base = isAMono(type) || isAFlux(type) ? ((ParameterizedType) type).getActualTypeArguments()[0] : type;
+        Function<Type, ResponseHandler> factory = factories.get(base);
+        if (factory == null) {
+            return null;
+        }
+
+        log.debug("Handling a type of: " + base);
+        handler = factory.apply(type);
+        ResponseHandler existing = handlers.putIfAbsent(type, handler);
+        return existing != null ? existing : handler;
+    }
+
+    private static boolean isAFlux(Type type) {
+        return type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Flux.class;
+    }
+
+    private static boolean isAMono(Type type) {
+        return type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Mono.class;
+    }
+}
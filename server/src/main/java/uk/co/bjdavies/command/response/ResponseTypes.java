@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.command.response;
+
+import discord4j.core.spec.EmbedCreateSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * These are the response types that are built in, they are created once and compare equal to the generic return
+ * type of a plugin command method so they can be used as cache keys.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class ResponseTypes {
+
+    public static final Type STRING = String.class;
+    public static final Type EMBED = parameterized(Consumer.class, EmbedCreateSpec.class);
+    public static final Type MONO_STRING = mono(STRING);
+    public static final Type FLUX_STRING = flux(STRING);
+    public static final Type MONO_EMBED = mono(EMBED);
+    public static final Type FLUX_EMBED = flux(EMBED);
+
+    private ResponseTypes() {
+    }
+
+    public static ParameterizedType mono(Type type) {
+        return parameterized(Mono.class, type);
+    }
+
+    public static ParameterizedType flux(Type type) {
+        return parameterized(Flux.class, type);
+    }
+
+    public static ParameterizedType parameterized(Class<?> raw, Type... args) {
+        return new SimpleParameterizedType(raw, args);
+    }
+
+    /**
+     * This follows the equals and hashCode contract of the JDK's own ParameterizedType.
+     */
+    private static final class SimpleParameterizedType implements ParameterizedType {
+        private final Class<?> raw;
+        private final Type[] args;
+
+        private SimpleParameterizedType(Class<?> raw, Type[] args) {
+            this.raw = raw;
+            this.args = args.clone();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return args.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return raw.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) o;
+            return raw.equals(that.getRawType()) && Objects.equals(getOwnerType(), that.getOwnerType()) &&
+                    Arrays.equals(args, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(args) ^ Objects.hashCode(getOwnerType()) ^ raw.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(raw.getName()).append("<");
+            for (int i = 0; i < args.length; i++) {
+                if (i != 0) {
+                    sb.append(", ");
+                }
+                sb.append(args[i].getTypeName());
+            }
+            return sb.append(">").toString();
+        }
+    }
+}
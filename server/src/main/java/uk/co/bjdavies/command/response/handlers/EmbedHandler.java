@@ -26,7 +26,6 @@
 package uk.co.bjdavies.command.response.handlers;
 
 import discord4j.core.spec.EmbedCreateSpec;
-import reactor.core.publisher.FluxProcessor;
 import uk.co.bjdavies.api.command.IResponse;
 import uk.co.bjdavies.command.ResponseFactory;
 import uk.co.bjdavies.command.response.ResponseHandler;
@@ -40,8 +39,8 @@ import java.util.function.Consumer;
  */
 public class EmbedHandler extends ResponseHandler {
 
-    public EmbedHandler(Type type, FluxProcessor<IResponse, IResponse> processor) {
-        super(type, processor);
+    public EmbedHandler(Type type) {
+        super(type);
     }
 
     @Override
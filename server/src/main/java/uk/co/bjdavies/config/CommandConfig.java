@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.config;
+
+import uk.co.bjdavies.api.config.ICommandConfig;
+import uk.co.bjdavies.api.config.IRateLimitConfig;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+public class CommandConfig implements ICommandConfig {
+
+    private int workerThreads = 4;
+
+    private int queueSize = 256;
+
+    private int maxConcurrentPerGuild = 2;
+
+    private String overflowPolicy = "reject";
+
+    private long responseBatchWindowMillis = 25;
+
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+
+    @Override
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @Override
+    public int getMaxConcurrentPerGuild() {
+        return maxConcurrentPerGuild;
+    }
+
+    @Override
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public long getResponseBatchWindowMillis() {
+        return responseBatchWindowMillis;
+    }
+
+    @Override
+    public IRateLimitConfig getRateLimitConfig() {
+        return rateLimit;
+    }
+}
@@ -60,6 +60,11 @@ public class Config implements IConfig {
 
     private HttpConfig http;
 
+    /**
+     * This is the config settings for how commands are executed, the defaults are used if it is missing.
+     */
+    private CommandConfig commands = new CommandConfig();
+
 
     /**
      * This will return the config for the discord part of this bot.
@@ -96,6 +101,17 @@ public class Config implements IConfig {
     }
 
 
+    /**
+     * This will return the config for how commands are executed.
+     *
+     * @return {@link ICommandConfig}
+     */
+    @Override
+    public ICommandConfig getCommandConfig() {
+        return commands;
+    }
+
+
     /**
      * This will return the config for the modules used in this bot.
      *
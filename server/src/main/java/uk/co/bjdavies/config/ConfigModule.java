@@ -28,6 +28,7 @@ package uk.co.bjdavies.config;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import lombok.Getter;
+import uk.co.bjdavies.api.config.ICommandConfig;
 import uk.co.bjdavies.api.config.IConfig;
 import uk.co.bjdavies.api.config.IDiscordConfig;
 import uk.co.bjdavies.api.config.IHttpConfig;
@@ -60,4 +61,9 @@ public class ConfigModule extends AbstractModule {
     private IHttpConfig provideHttpConfig(IConfig config) {
         return config.getHttpConfig();
     }
+
+    @Provides
+    private ICommandConfig provideCommandConfig(IConfig config) {
+        return config.getCommandConfig();
+    }
 }
@@ -39,6 +39,7 @@ public class DatabaseConfig implements IDatabaseConfig {
     private String password;
     private String hostname;
     private String port;
+    private int poolSize = 4;
 
     @Override
     public String getType() {
@@ -69,4 +70,9 @@ public class DatabaseConfig implements IDatabaseConfig {
     public String getDatabase() {
         return database;
     }
+
+    @Override
+    public int getPoolSize() {
+        return poolSize;
+    }
 }
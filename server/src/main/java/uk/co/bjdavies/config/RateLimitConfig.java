@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.config;
+
+import uk.co.bjdavies.api.config.IRateLimitConfig;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@SuppressWarnings({"FieldCanBeLocal", "FieldMayBeFinal"})
+public class RateLimitConfig implements IRateLimitConfig {
+
+    private boolean enabled = true;
+
+    private int maxBuckets = 10000;
+
+    private Limit user = new Limit(5, 20);
+
+    private Limit guild = new Limit(30, 120);
+
+    private Limit command = new Limit(10, 40);
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    @Override
+    public ILimit getUserLimit() {
+        return user;
+    }
+
+    @Override
+    public ILimit getGuildLimit() {
+        return guild;
+    }
+
+    @Override
+    public ILimit getCommandLimit() {
+        return command;
+    }
+
+    public static class Limit implements ILimit {
+
+        private int capacity;
+
+        private int refillPerMinute;
+
+        public Limit(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+    }
+}
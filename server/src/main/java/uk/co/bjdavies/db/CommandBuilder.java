@@ -79,6 +79,15 @@ public abstract class CommandBuilder extends BaseBuilder implements ICommandBuil
         return (boolean) connection.executeCommand(this);
     }
 
+    @SneakyThrows
+    @Override
+    public int insertGetId(Map<String, Object> insertValues) {
+        type = CommandType.INSERT;
+        this.commandValues = insertValues;
+        Object key = connection.executeInsert(this);
+        return key instanceof Number ? ((Number) key).intValue() : -1;
+    }
+
     @SneakyThrows
     @Override
     public boolean update(Map<String, Object> updateValues) {
@@ -25,43 +25,81 @@
 
 package uk.co.bjdavies.db;
 
+import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.config.IDatabaseConfig;
 import uk.co.bjdavies.api.db.IConnection;
+import uk.co.bjdavies.api.db.IConnectionProvider;
 import uk.co.bjdavies.db.impl.SqliteConnection;
 
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
+ * This will create the {@link IConnection} for the type of database in the config. Sqlite is built in, other
+ * databases can be added with {@link #register(IConnectionProvider)} or a {@link ServiceLoader} entry for
+ * {@link IConnectionProvider}
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
  */
+@Log4j2
 public class ConnectionFactory {
+
+    /**
+     * Key: The lower case type of the database e.g. sqlite
+     */
+    private static final Map<String, IConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    static {
+        register(new IConnectionProvider() {
+            @Override
+            public String getType() {
+                return "sqlite";
+            }
+
+            @Override
+            public IConnection create(IDatabaseConfig config) throws SQLException {
+                return SqliteConnection.create(config);
+            }
+        });
+
+        try {
+            ServiceLoader.load(IConnectionProvider.class).forEach(ConnectionFactory::register);
+        } catch (ServiceConfigurationError e) {
+            log.error("Unable to load a database connection provider.", e);
+        }
+    }
+
+    /**
+     * This will add a type of database, a provider with the same type will be replaced.
+     *
+     * @param provider - The provider of the connection.
+     */
+    public static void register(IConnectionProvider provider) {
+        IConnectionProvider previous = providers.put(provider.getType().toLowerCase(), provider);
+        if (previous != null && previous != provider) {
+            log.info("Database type " + provider.getType() + " is now provided by " + provider.getClass().getName());
+        }
+    }
+
     public static IConnection make(IDatabaseConfig databaseConfig) {
         if (databaseConfig == null) {
             throw new RuntimeException("Must have a database config in your config! all you need is \"database\": {} the server defaults to sqlite and using Core.db");
         }
-        switch (getTypeFromString(databaseConfig.getType())) {
-            case SQLITE:
-                return new SqliteConnection(databaseConfig);
-            default:
-                throw new RuntimeException("Connection type not supported please choose from PG, SQLITE, MYSQL, " +
-                        "and MongoDB");
-        }
-    }
 
-    private static ConnectionType getTypeFromString(String type) {
-        switch (type.toLowerCase()) {
-            case "sqlite":
-                return ConnectionType.SQLITE;
-            default:
-                throw new RuntimeException("Connection type not supported please choose from PG, SQLITE, MYSQL, " +
-                        "and MongoDB");
+        IConnectionProvider provider = providers.get(databaseConfig.getType().toLowerCase());
+        if (provider == null) {
+            throw new RuntimeException("Connection type " + databaseConfig.getType() +
+                    " not supported please choose from " + String.join(", ", providers.keySet()));
         }
-    }
 
-    private enum ConnectionType {
-        MYSQL,
-        SQLITE,
-        PG,
-        MONGODB
+        try {
+            return provider.create(databaseConfig);
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to connect to the " + databaseConfig.getType() + " database.", e);
+        }
     }
-
 }
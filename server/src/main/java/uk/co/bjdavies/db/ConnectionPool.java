@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.db;
+
+import uk.co.bjdavies.api.db.SQLFunction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a fixed size pool of JDBC connections, each connection is only used by one thread at a time. Connections
+ * are opened when they are first needed and a connection that has been closed is replaced along with the statements
+ * it had prepared.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * This is how long to wait for a free connection before giving up.
+     */
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 30_000;
+
+    private final String name;
+
+    private final Opener opener;
+
+    private final Semaphore permits;
+
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param name   - The name of the pool used in errors e.g. sqlite-readers
+     * @param size   - The most connections that can be open at once.
+     * @param opener - This will open a new connection.
+     */
+    public ConnectionPool(String name, int size, Opener opener) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The pool " + name + " must have at least one connection.");
+        }
+        this.name = name;
+        this.opener = opener;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * This will run the work with a connection from the pool and give the connection back once it is done.
+     *
+     * @param work - The work to do with the connection.
+     * @param <R>  - The result of the work.
+     * @return R
+     * @throws SQLException - If the work failed or no connection was free.
+     */
+    public <R> R withConnection(SQLFunction<Connection, R> work) throws SQLException {
+        return withPooledConnection(pooled -> work.apply(pooled.getConnection()));
+    }
+
+    /**
+     * This will run the work with a connection from the pool so it can use the statements the connection has
+     * already prepared, see {@link PooledConnection#prepare(String)}
+     *
+     * @param work - The work to do with the connection.
+     * @param <R>  - The result of the work.
+     * @return R
+     * @throws SQLException - If the work failed or no connection was free.
+     */
+    public <R> R withPooledConnection(SQLFunction<PooledConnection, R> work) throws SQLException {
+        PooledConnection connection = acquire();
+        try {
+            return work.apply(connection);
+        } finally {
+            release(connection);
+        }
+    }
+
+    /**
+     * This will open a connection that is not part of the pool, closing it is up to the caller.
+     *
+     * @return Connection
+     * @throws SQLException - If the connection could not be opened.
+     */
+    public Connection open() throws SQLException {
+        return opener.open();
+    }
+
+    private PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("The connection pool " + name + " has been closed.");
+        }
+
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("No connection in the pool " + name + " was free after " +
+                        ACQUIRE_TIMEOUT_MILLIS + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from the pool " + name, e);
+        }
+
+        try {
+            PooledConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (!connection.isClosed()) {
+                    return connection;
+                }
+                connection.close();
+            }
+            return new PooledConnection(opener.open());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        try {
+            if (closed || connection.isClosed()) {
+                connection.close();
+            } else {
+                idle.offerFirst(connection);
+                if (closed) {
+                    closeIdle();
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * This will close every idle connection, connections that are in use are closed when they are given back.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    /**
+     * This is also called by a connection given back while the pool was being closed, so it isn't left open.
+     */
+    private void closeIdle() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * This will open a new connection to the database.
+     */
+    @FunctionalInterface
+    public interface Opener {
+        Connection open() throws SQLException;
+    }
+}
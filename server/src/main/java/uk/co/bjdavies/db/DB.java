@@ -36,8 +36,6 @@ import uk.co.bjdavies.db.Table.TableBuilder;
 
 import java.sql.Statement;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
@@ -47,7 +45,6 @@ import java.util.concurrent.Executors;
 public class DB {
 
     private static DB instance;
-    private final ExecutorService service = Executors.newFixedThreadPool(10);
     private volatile IConnection connection;
 
     private DB(IDatabaseConfig databaseConfig) {
@@ -105,9 +102,12 @@ public class DB {
 
     private boolean checkIfTableExists(String tableName) {
         try {
-            Statement statement = connection.getSQLConnection().createStatement();
-            statement.executeQuery(String.format("SELECT * FROM %s", tableName));
-            return true;
+            return connection.read(c -> {
+                try (Statement statement = c.createStatement()) {
+                    statement.executeQuery(String.format("SELECT * FROM %s LIMIT 1", tableName)).close();
+                }
+                return true;
+            });
         } catch (Exception e) {
             return false;
         }
@@ -115,11 +115,11 @@ public class DB {
 
     private void createTable(final TableBuilder tableBuilder) {
         try {
-            service.submit(() -> {
-                Statement preparedStatement;
-                preparedStatement = connection.getSQLConnection().createStatement();
-                return preparedStatement.execute(tableBuilder.build());
-            }).get();
+            connection.write(c -> {
+                try (Statement statement = c.createStatement()) {
+                    return statement.execute(tableBuilder.build());
+                }
+            });
         } catch (Exception e) {
             log.error("Unable to create table:" + tableBuilder.getTableName(), e);
         }
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.db;
+
+import lombok.extern.log4j.Log4j2;
+import uk.co.bjdavies.api.db.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is a connection to a JDBC database that reads from one {@link ConnectionPool} and writes to another, a server
+ * database such as MySQL can use the same pool for both while Sqlite writes with a single connection.
+ * A backend only needs to create its query and command builders.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+public abstract class JdbcConnection implements IConnection {
+
+    protected final ConnectionPool readers;
+
+    protected final ConnectionPool writers;
+
+    private Connection legacyConnection;
+
+    /**
+     * @param readers - The connections used to read.
+     * @param writers - The connections used to write, this can be the same pool as the readers.
+     */
+    protected JdbcConnection(ConnectionPool readers, ConnectionPool writers) {
+        this.readers = readers;
+        this.writers = writers;
+    }
+
+    @Override
+    public <T extends IDBRecord> List<T> executeQuery(IQueryBuilder<T> query) throws SQLException {
+        ISQLCommand sqlQuery = query.buildQuery();
+        //noinspection unchecked
+        return (List<T>) readers.withPooledConnection(connection -> {
+            PreparedStatement statement = bind(connection.prepare(sqlQuery.getSQL()), sqlQuery.getValues());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return processResultSet(resultSet);
+            }
+        });
+    }
+
+    @Override
+    public Object executeScalar(ISQLCommand query) throws SQLException {
+        return readers.withPooledConnection(connection -> {
+            PreparedStatement statement = bind(connection.prepare(query.getSQL()), query.getValues());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getObject(1) : null;
+            }
+        });
+    }
+
+    @Override
+    public Object executeCommand(ICommandBuilder command) {
+        ISQLCommand sqlCommand = command.buildCommand();
+        try {
+            return transaction(connection -> {
+                return bind(connection.prepare(sqlCommand.getSQL()), sqlCommand.getValues()).executeUpdate() > 0;
+            });
+        } catch (SQLException e) {
+            log.error("Unable to run the command: " + sqlCommand.getSQL(), e);
+        }
+        return false;
+    }
+
+    @Override
+    public Object executeInsert(ICommandBuilder command) {
+        ISQLCommand sqlCommand = command.buildCommand();
+        try {
+            return transaction(connection -> {
+                PreparedStatement statement = bind(connection.prepare(sqlCommand.getSQL(), true),
+                        sqlCommand.getValues());
+                if (statement.executeUpdate() == 0) {
+                    return null;
+                }
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    return keys.next() ? keys.getObject(1) : null;
+                }
+            });
+        } catch (SQLException e) {
+            log.error("Unable to run the command: " + sqlCommand.getSQL(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public <R> R read(SQLFunction<Connection, R> work) throws SQLException {
+        return readers.withConnection(work);
+    }
+
+    /**
+     * Each write is its own transaction, it is rolled back if the work throws.
+     */
+    @Override
+    public <R> R write(SQLFunction<Connection, R> work) throws SQLException {
+        return transaction(pooled -> work.apply(pooled.getConnection()));
+    }
+
+    /**
+     * This will run the work in a transaction on a writer connection, it is rolled back if the work throws.
+     *
+     * @param work - The work to do with the connection.
+     * @param <R>  - The result of the work.
+     * @return R
+     * @throws SQLException - If the work failed or no connection was free.
+     */
+    protected <R> R transaction(SQLFunction<PooledConnection, R> work) throws SQLException {
+        return writers.withPooledConnection(pooled -> {
+            Connection connection = pooled.getConnection();
+            connection.setAutoCommit(false);
+            try {
+                R result = work.apply(pooled);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        readers.close();
+        writers.close();
+        synchronized (this) {
+            if (legacyConnection != null) {
+                try {
+                    legacyConnection.close();
+                } catch (SQLException e) {
+                    log.warn("Unable to close the database connection.", e);
+                }
+                legacyConnection = null;
+            }
+        }
+    }
+
+    @Override
+    @Deprecated
+    public synchronized Connection getSQLConnection() {
+        try {
+            if (legacyConnection == null || legacyConnection.isClosed()) {
+                legacyConnection = writers.open();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to open a connection to the database.", e);
+        }
+        return legacyConnection;
+    }
+
+    protected static PreparedStatement bind(PreparedStatement statement, List<String> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            statement.setString(i + 1, values.get(i));
+        }
+        return statement;
+    }
+
+    protected List<IDBRecord> processResultSet(ResultSet resultSet) {
+        List<IDBRecord> rows = new ArrayList<>();
+        try {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            while (resultSet.next()) {
+                Map<String, Object> objectMap = new HashMap<>();
+                for (int i = 1; i <= columnCount; i++) {
+                    objectMap.put(metaData.getColumnName(i), resultSet.getObject(i));
+                }
+
+                rows.add(new DBRecord(objectMap));
+            }
+        } catch (Exception e) {
+            log.error("Error selecting all from the table, most likely the table has not been created.", e);
+            return rows;
+        }
+
+        return rows;
+    }
+}
@@ -157,7 +157,22 @@ public class ModelBuilder<T extends Model> implements IModelBuilder<T> {
     }
 
     @Override
-    public String buildQuery() {
+    public Number sum(String column) {
+        return query.sum(column);
+    }
+
+    @Override
+    public Optional<Object> min(String column) {
+        return query.min(column);
+    }
+
+    @Override
+    public Optional<Object> max(String column) {
+        return query.max(column);
+    }
+
+    @Override
+    public ISQLCommand buildQuery() {
         return query.buildQuery();
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.db;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is a connection from a {@link ConnectionPool} with the statements it has prepared, the least recently used
+ * statement is closed once there are too many. A pooled connection is only ever used by one thread at a time.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+public final class PooledConnection implements AutoCloseable {
+
+    /**
+     * This is how many statements are kept open for each connection.
+     */
+    private static final int MAX_CACHED_STATEMENTS = 64;
+
+    /**
+     * This is put before the SQL of a statement that returns generated keys so it is cached separately.
+     */
+    private static final String GENERATED_KEYS_PREFIX = "\0keys:";
+
+    private final Connection connection;
+
+    /**
+     * Key: The SQL of the statement.
+     */
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > MAX_CACHED_STATEMENTS) {
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    PooledConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * This will return the statement for the SQL, it is only prepared the first time the SQL is seen by this
+     * connection. The statement belongs to the connection so it must not be closed, any result set must be.
+     *
+     * @param sql - The SQL of the statement.
+     * @return PreparedStatement with its parameters cleared.
+     * @throws SQLException - If the statement could not be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, false);
+    }
+
+    /**
+     * This is the same as {@link #prepare(String)} but the statement can return the keys generated by an insert.
+     *
+     * @param sql                  - The SQL of the statement.
+     * @param returnGeneratedKeys  - Whether {@link PreparedStatement#getGeneratedKeys()} will be used.
+     * @return PreparedStatement with its parameters cleared.
+     * @throws SQLException - If the statement could not be prepared.
+     */
+    public PreparedStatement prepare(String sql, boolean returnGeneratedKeys) throws SQLException {
+        String key = returnGeneratedKeys ? GENERATED_KEYS_PREFIX + sql : sql;
+        PreparedStatement statement = statements.get(key);
+        if (statement != null && !statement.isClosed()) {
+            statement.clearParameters();
+            return statement;
+        }
+
+        statement = returnGeneratedKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        statements.put(key, statement);
+        return statement;
+    }
+
+    public int getCachedStatementCount() {
+        return statements.size();
+    }
+
+    boolean isClosed() throws SQLException {
+        return connection.isClosed();
+    }
+
+    /**
+     * This will close every statement and then the connection.
+     */
+    @Override
+    public void close() {
+        Iterator<PreparedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close a database connection.", e);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close a prepared statement.", e);
+        }
+    }
+}
@@ -184,12 +184,14 @@ public abstract class QueryBuilder<T extends IDBRecord> extends BaseBuilder impl
 
     @Override
     public int count() {
-        return get().size();
+        Object count = scalar(buildAggregate("COUNT", "*"));
+        return count instanceof Number ? ((Number) count).intValue() : 0;
     }
 
     @Override
     public boolean exists() {
-        return count() > 0;
+        Object exists = scalar(buildExists());
+        return exists instanceof Number && ((Number) exists).intValue() != 0;
     }
 
     @Override
@@ -197,5 +199,43 @@ public abstract class QueryBuilder<T extends IDBRecord> extends BaseBuilder impl
         return !exists();
     }
 
-    public abstract String buildQuery();
+    @Override
+    public Number sum(String column) {
+        Object sum = scalar(buildAggregate("SUM", column));
+        return sum instanceof Number ? (Number) sum : 0;
+    }
+
+    @Override
+    public Optional<Object> min(String column) {
+        return Optional.ofNullable(scalar(buildAggregate("MIN", column)));
+    }
+
+    @Override
+    public Optional<Object> max(String column) {
+        return Optional.ofNullable(scalar(buildAggregate("MAX", column)));
+    }
+
+    @SneakyThrows
+    private Object scalar(ISQLCommand query) {
+        return connection.executeScalar(query);
+    }
+
+    public abstract ISQLCommand buildQuery();
+
+    /**
+     * This will build a query that returns a single value for the rows that match e.g. {@code SELECT COUNT(*)}
+     *
+     * @param function - The aggregate function e.g. COUNT, SUM, MIN or MAX
+     * @param column   - The column to aggregate or * for every column.
+     * @return {@link ISQLCommand}
+     */
+    public abstract ISQLCommand buildAggregate(String function, String column);
+
+    /**
+     * This will build a query that returns 1 if any row matches or 0 if none do, the database stops at the first
+     * row that matches.
+     *
+     * @return {@link ISQLCommand}
+     */
+    public abstract ISQLCommand buildExists();
 }
@@ -351,14 +351,21 @@ public class ImplModel extends Model {
         Optional<Field> primaryKeyField = Arrays.stream(this.getClass().getDeclaredFields()).filter(f -> f.getName()
                 .equals(primaryKey)).findFirst();
 
-        if (DB.getConnection().createCommandBuilder(this.tableName).insert(data)) {
-            int newId = ModelUtils.all(getClass()).size() + 1;
-            if (primaryKeyField.isPresent() && increments) {
-                Field f = primaryKeyField.get();
-                f.setAccessible(true);
-                f.set(this, newId);
-                data.put(this.primaryKey, newId);
+        //The key of a new row is left for the database to generate.
+        Object unsavedId = increments ? data.remove(this.primaryKey) : null;
+        int newId = DB.getConnection().createCommandBuilder(this.tableName).insertGetId(data);
+        if (newId == -1) {
+            if (unsavedId != null) {
+                data.put(this.primaryKey, unsavedId);
             }
+            return;
+        }
+
+        if (primaryKeyField.isPresent() && increments) {
+            Field f = primaryKeyField.get();
+            f.setAccessible(true);
+            f.set(this, newId);
+            data.put(this.primaryKey, newId);
         }
     }
 
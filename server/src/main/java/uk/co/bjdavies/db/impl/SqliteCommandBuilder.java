@@ -207,8 +207,9 @@ public class SqliteCommandBuilder extends CommandBuilder {
         StringBuilder sb = new StringBuilder();
         sb
                 .append(statement.getKey())
+                .append(" ")
                 .append(comparatorToString(statement.getComparator()))
-                .append("?");
+                .append(" ?");
         values.add(statement.getValue());
 
         return sb.toString();
@@ -25,103 +25,82 @@
 
 package uk.co.bjdavies.db.impl;
 
-import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.config.IDatabaseConfig;
-import uk.co.bjdavies.api.db.*;
-import uk.co.bjdavies.db.DBRecord;
+import uk.co.bjdavies.api.db.ICommandBuilder;
+import uk.co.bjdavies.api.db.IDBRecord;
+import uk.co.bjdavies.api.db.IQueryBuilder;
+import uk.co.bjdavies.db.ConnectionPool;
+import uk.co.bjdavies.db.JdbcConnection;
 
 import java.io.File;
 import java.io.IOException;
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
+ * This uses Sqlite in WAL mode so reads from the pool of readers can happen while a write is in progress, there is
+ * only one connection that writes because Sqlite only allows one writer at a time.
+ *
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
  */
 @Log4j2
-public class SqliteConnection implements IConnection {
-
+public class SqliteConnection extends JdbcConnection {
 
-    private final Connection connection;
+    /**
+     * This is how long a connection waits for the database to be unlocked.
+     */
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
 
-    @SneakyThrows
-    public SqliteConnection(IDatabaseConfig config) {
-        try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-        }
+    private SqliteConnection(IDatabaseConfig config) {
+        super(new ConnectionPool("sqlite-readers", Math.max(1, config.getPoolSize()),
+                        () -> open(config.getDatabase(), true)),
+                new ConnectionPool("sqlite-writer", 1, () -> open(config.getDatabase(), false)));
+    }
 
+    /**
+     * This will create the file if it does not exist and switch it to WAL mode before any readers are opened.
+     *
+     * @param config - The database config.
+     * @return SqliteConnection
+     * @throws SQLException - If the database could not be opened.
+     */
+    public static SqliteConnection create(IDatabaseConfig config) throws SQLException {
         File file = new File(config.getDatabase());
         if (!file.exists()) {
             try {
                 //noinspection ResultOfMethodCallIgnored
                 file.createNewFile();
             } catch (IOException e) {
-                e.printStackTrace();
+                log.error("Unable to create the database file: " + config.getDatabase(), e);
             }
         }
 
-
-        connection = DriverManager.getConnection("jdbc:sqlite:" + config.getDatabase());
-    }
-
-    @Override
-    public <T extends IDBRecord> List<T> executeQuery(IQueryBuilder<T> query) throws SQLException {
-        //noinspection unchecked
-        return (List<T>) processResultSet(connection.prepareStatement(query.buildQuery()).executeQuery());
-    }
-
-    @Override
-    public Object executeCommand(ICommandBuilder command) {
-        try {
-            ISQLCommand sqlCommand = command.buildCommand();
-            PreparedStatement statement = connection.prepareStatement(sqlCommand.getSQL());
-            for (int i = 0; i < sqlCommand.getValues().size(); i++) {
-                statement.setString(i + 1, sqlCommand.getValues().get(i));
+        SqliteConnection connection = new SqliteConnection(config);
+        connection.writers.withConnection(c -> {
+            try (Statement statement = c.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
             }
-            connection.setAutoCommit(false);
-            int result = statement.executeUpdate();
-            if (result > 0) connection.commit();
-            connection.setAutoCommit(true);
-            return result > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-
-    @Override
-    public Connection getSQLConnection() {
-        //TODO: Remove this and add table creation to this connection class its DB dependant.
+            return null;
+        });
         return connection;
     }
 
-    private List<IDBRecord> processResultSet(ResultSet resultSet) {
-        List<IDBRecord> rows = new ArrayList<>();
-        try {
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            while (resultSet.next()) {
-                Map<String, Object> objectMap = new HashMap<>();
-                for (int i = 1; i < metaData.getColumnCount() + 1; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object columnValue = resultSet.getObject(columnName);
-                    objectMap.put(columnName, columnValue);
-                }
-
-                rows.add(new DBRecord(objectMap));
+    private static Connection open(String database, boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+            if (readOnly) {
+                statement.execute("PRAGMA query_only=true");
             }
-        } catch (Exception e) {
-            log.error("Error selecting all from the table, most likely the table has not been created.", e);
-            return rows;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
         }
-
-        return rows;
+        return connection;
     }
 
     @Override
@@ -25,10 +25,11 @@
 
 package uk.co.bjdavies.db.impl;
 
-import org.apache.commons.lang3.RandomStringUtils;
 import uk.co.bjdavies.api.db.*;
 import uk.co.bjdavies.db.QueryBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -37,24 +38,75 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class SqliteQueryBuilder<T extends IDBRecord> extends QueryBuilder<T> {
 
+    /**
+     * The table is always given the same alias so the same query is always the same SQL and its prepared statement
+     * can be reused.
+     */
+    private static final String TABLE_ALIAS = "t0";
+
+    /**
+     * This is the name of the column that is aggregated when the rows are limited first.
+     */
+    private static final String AGGREGATE_ALIAS = "v";
+
     public SqliteQueryBuilder(String primaryKey, String tableName, IConnection connection, Class<T> tClass) {
         super(primaryKey, tableName, connection, tClass);
     }
 
     @Override
-    public String buildQuery() {
-        String tableId = RandomStringUtils.randomAlphabetic(5);
+    public ISQLCommand buildQuery() {
+        List<String> values = new ArrayList<>();
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("SELECT DISTINCT ")
-                .append(columnsToString(tableId))
-                .append(" FROM ")
+                .append(columnsToString(TABLE_ALIAS));
+        appendFrom(stringBuilder, values);
+        appendOrderAndLimit(stringBuilder);
+
+        return new SQLCommand(stringBuilder.toString(), values);
+    }
+
+    @Override
+    public ISQLCommand buildAggregate(String function, String column) {
+        List<String> values = new ArrayList<>();
+        boolean allColumns = column.equals("*");
+        StringBuilder stringBuilder = new StringBuilder("SELECT ").append(function).append("(");
+
+        if (this.limit == -1) {
+            stringBuilder.append(allColumns ? "*" : TABLE_ALIAS + "." + column).append(")");
+            appendFrom(stringBuilder, values);
+        } else {
+            //the limit has to be applied to the rows before they are aggregated.
+            stringBuilder.append(allColumns ? "*" : AGGREGATE_ALIAS).append(") FROM (SELECT ")
+                    .append(allColumns ? "1" : TABLE_ALIAS + "." + column + " AS " + AGGREGATE_ALIAS);
+            appendFrom(stringBuilder, values);
+            appendOrderAndLimit(stringBuilder);
+            stringBuilder.append(")");
+        }
+
+        return new SQLCommand(stringBuilder.toString(), values);
+    }
+
+    @Override
+    public ISQLCommand buildExists() {
+        List<String> values = new ArrayList<>();
+        StringBuilder stringBuilder = new StringBuilder("SELECT EXISTS(SELECT 1");
+        appendFrom(stringBuilder, values);
+        stringBuilder.append(" LIMIT 1)");
+
+        return new SQLCommand(stringBuilder.toString(), values);
+    }
+
+    private void appendFrom(StringBuilder stringBuilder, List<String> values) {
+        stringBuilder.append(" FROM ")
                 .append(this.tableName)
                 .append(" AS ")
-                .append("`").append(tableId).append("`");
-        stringBuilder.append(buildWhereQueries(tableId));
+                .append("`").append(TABLE_ALIAS).append("`");
+        stringBuilder.append(buildWhereQueries(TABLE_ALIAS, values));
+    }
 
+    private void appendOrderAndLimit(StringBuilder stringBuilder) {
         if (!this.orderColumn.equals("")) {
-            stringBuilder.append(" ORDER BY ").append(tableId).append(".").append(this.orderColumn);
+            stringBuilder.append(" ORDER BY ").append(TABLE_ALIAS).append(".").append(this.orderColumn);
             if (!this.reverseOrder) {
                 stringBuilder.append(" ASC");
             } else {
@@ -65,22 +117,20 @@ public class SqliteQueryBuilder<T extends IDBRecord> extends QueryBuilder<T> {
         if (this.limit != -1) {
             stringBuilder.append(" LIMIT ").append(this.limit);
         }
-
-        return stringBuilder.toString();
     }
 
-    private String buildWhereQueries(String tableId) {
+    private String buildWhereQueries(String tableId, List<String> values) {
         if (this.whereStatement == null) {
             return "";
         }
         StringBuilder sb = new StringBuilder(" WHERE ");
-        sb.append(whereStatementToString(whereStatement, tableId));
+        sb.append(whereStatementToString(whereStatement, tableId, values));
         whereStatement.getGroup().forEach(ws -> {
             if (ws.getOperator() != null) {
                 switch (ws.getOperator()) {
                     case AND:
                     case OR:
-                        sb.append(appendWhereStatementsForOperator(ws, tableId, false));
+                        sb.append(appendWhereStatementsForOperator(ws, tableId, values, false));
                         break;
                 }
 
@@ -89,7 +139,8 @@ public class SqliteQueryBuilder<T extends IDBRecord> extends QueryBuilder<T> {
         return sb.toString();
     }
 
-    private String appendWhereStatementsForOperator(WhereStatement statement, String tableId, boolean grouped) {
+    private String appendWhereStatementsForOperator(WhereStatement statement, String tableId, List<String> values,
+                                                     boolean grouped) {
         AtomicBoolean firstFound = new AtomicBoolean(true);
         StringBuilder sb = new StringBuilder();
         statement.getGroup().forEach(ws -> {
@@ -101,45 +152,45 @@ public class SqliteQueryBuilder<T extends IDBRecord> extends QueryBuilder<T> {
                     }
                     firstFound.set(false);
                     sb.append(" ( ");
-                    sb.append(appendWhereStatementsForOperator(ws, tableId, true));
+                    sb.append(appendWhereStatementsForOperator(ws, tableId, values, true));
                     sb.append(" ) ");
                 } else {
                     sb.append(" ");
                     sb.append(operatorToString(statement.getOperator()));
                     sb.append(" ( ");
-                    sb.append(appendWhereStatementsForOperator(ws, tableId, true));
+                    sb.append(appendWhereStatementsForOperator(ws, tableId, values, true));
                     sb.append(" ) ");
                 }
             } else {
                 if (grouped) {
                     if (firstFound.get()) {
-                        sb.append(whereStatementToString(ws, tableId));
+                        sb.append(whereStatementToString(ws, tableId, values));
                         firstFound.set(false);
                     } else {
                         sb.append(" ");
                         sb.append(operatorToString(statement.getOperator())).append(" ");
-                        sb.append(whereStatementToString(ws, tableId));
+                        sb.append(whereStatementToString(ws, tableId, values));
                     }
                 } else {
                     sb.append(" ");
                     sb.append(operatorToString(statement.getOperator())).append(" ");
-                    sb.append(whereStatementToString(ws, tableId));
+                    sb.append(whereStatementToString(ws, tableId, values));
                 }
             }
         });
         return sb.toString();
     }
 
-    private String whereStatementToString(WhereStatement statement, String tableId) {
+    private String whereStatementToString(WhereStatement statement, String tableId, List<String> values) {
         StringBuilder sb = new StringBuilder();
         sb
                 .append(tableId)
                 .append(".")
                 .append(statement.getKey())
-                .append(comparatorToString(statement.getComparator()))
-                .append("\"")
-                .append(statement.getValue())
-                .append("\"");
+                .append(" ")
+                .append(SqliteCommandBuilder.getComparatorToString(statement.getComparator()))
+                .append(" ?");
+        values.add(statement.getValue());
 
         return sb.toString();
     }
@@ -155,29 +206,6 @@ public class SqliteQueryBuilder<T extends IDBRecord> extends QueryBuilder<T> {
         }
     }
 
-    private String comparatorToString(Comparator comparator) {
-        switch (comparator) {
-            case EQUALS:
-                return "=";
-            case NOT_EQUALS:
-                return "<>";
-            case GREATER_THAN:
-                return ">";
-            case LESS_THAN:
-                return "<";
-            case GREATER_THAN_OR_EQUAL_TO:
-                return ">=";
-            case LESS_THAN_OR_EQUAL_TO:
-                return "<=";
-            case LIKE:
-                return "LIKE";
-            case NOT_LIKE:
-                return "NOT LIKE";
-            default:
-                return "";
-        }
-    }
-
     private String columnsToString(String tableId) {
         StringBuilder stringBuilder = new StringBuilder();
         for (int i = 0; i < this.selectColumns.length; i++) {
@@ -25,6 +25,7 @@
 
 package uk.co.bjdavies.discord;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.DiscordClient;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.domain.Event;
@@ -32,6 +33,7 @@ import discord4j.core.object.entity.User;
 import discord4j.core.object.presence.Activity;
 import discord4j.core.object.presence.Presence;
 import discord4j.discordjson.json.gateway.StatusUpdate;
+import discord4j.rest.util.Color;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import reactor.core.publisher.Mono;
@@ -61,9 +63,12 @@ public class DiscordFacade implements IDiscordFacade {
     @Getter
     private final IApplication application;
 
+    private final SelfColorCache colorCache;
+
     public DiscordFacade(GatewayDiscordClient client, IApplication application) {
         this.client = client;
         this.application = application;
+        this.colorCache = new SelfColorCache(client);
     }
 
 
@@ -90,6 +95,17 @@ public class DiscordFacade implements IDiscordFacade {
         return this.client.getSelf();
     }
 
+    /**
+     * This is available to the public through plugins and this will return the colour of the bot in a guild.
+     *
+     * @param guildId - The guild the bot is in.
+     * @return {@link Mono<Color>} this is a Mono Stream of the Color
+     * @see SelfColorCache
+     */
+    public Mono<Color> getOurColor(Snowflake guildId) {
+        return this.colorCache.getColor(guildId);
+    }
+
     /**
      * This will update the presence of the bot to the text
      *
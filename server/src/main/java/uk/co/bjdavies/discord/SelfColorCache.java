@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.discord;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.event.domain.role.RoleDeleteEvent;
+import discord4j.core.event.domain.role.RoleUpdateEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.rest.util.Color;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This will cache the colour of the bot's own member in each guild so that an embed can be given its colour
+ * before it is sent, rather than looking up the bot's member every time one is sent.
+ * <p>
+ * A guild's colour is forgotten when one of its roles is updated or deleted, when the bot's member is updated or
+ * when the guild is left, the next embed sent in that guild will look it up again.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Slf4j
+public class SelfColorCache {
+
+    private final GatewayDiscordClient client;
+    private final Map<Snowflake, Color> colors = new ConcurrentHashMap<>();
+
+    public SelfColorCache(GatewayDiscordClient client) {
+        this.client = client;
+        if (client != null) {
+            registerInvalidation();
+        }
+    }
+
+    /**
+     * This will return the colour of the bot in a guild.
+     *
+     * @param guildId - The guild the bot is in.
+     * @return Mono - The colour, this will complete straight away if the colour is cached.
+     */
+    public Mono<Color> getColor(Snowflake guildId) {
+        Color color = colors.get(guildId);
+        if (color != null) {
+            return Mono.just(color);
+        }
+
+        return client.getMemberById(guildId, client.getSelfId())
+                .flatMap(Member::getColor)
+                .doOnNext(c -> colors.put(guildId, c))
+                .onErrorResume(e -> {
+                    log.warn("Unable to find the colour of the bot in guild: " + guildId.asString(), e);
+                    return Mono.empty();
+                });
+    }
+
+    public void invalidate(Snowflake guildId) {
+        colors.remove(guildId);
+    }
+
+    private void registerInvalidation() {
+        client.getEventDispatcher().on(RoleUpdateEvent.class)
+                .subscribe(e -> invalidate(e.getCurrent().getGuildId()));
+        client.getEventDispatcher().on(RoleDeleteEvent.class)
+                .subscribe(e -> invalidate(e.getGuildId()));
+        client.getEventDispatcher().on(MemberUpdateEvent.class)
+                .filter(e -> e.getMemberId().equals(client.getSelfId()))
+                .subscribe(e -> invalidate(e.getGuildId()));
+        client.getEventDispatcher().on(GuildDeleteEvent.class)
+                .subscribe(e -> invalidate(e.getGuildId()));
+    }
+}
@@ -26,19 +26,19 @@
 package uk.co.bjdavies.discord.services;
 
 import com.google.inject.Inject;
+import discord4j.common.util.Snowflake;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.domain.message.MessageCreateEvent;
+import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
 import lombok.extern.log4j.Log4j2;
-import reactor.core.publisher.Mono;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.ICommandDispatcher;
 import uk.co.bjdavies.api.config.IDiscordConfig;
 import uk.co.bjdavies.command.CommandDispatcher;
+import uk.co.bjdavies.command.CommandExecutor;
 import uk.co.bjdavies.command.parser.DiscordMessageParser;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
@@ -54,30 +54,46 @@ public class Discord4JBotMessageService {
 
     private final ICommandDispatcher commandDispatcher;
 
+    private final CommandExecutor commandExecutor;
+
     @Inject
     public Discord4JBotMessageService(GatewayDiscordClient client, IDiscordConfig config, IApplication application,
-      ICommandDispatcher commandDispatcher) {
+      ICommandDispatcher commandDispatcher, CommandExecutor commandExecutor) {
         this.client = client;
         this.config = config;
         this.application = application;
         this.commandDispatcher = commandDispatcher;
+        this.commandExecutor = commandExecutor;
     }
 
+    /**
+     * This will handle every message that starts with the command prefix and was not sent by a bot, the bot flag is
+     * read from the message itself so no member has to be fetched and direct messages are handled too.
+     */
     public void register() {
-        AtomicBoolean hasSentMessage = new AtomicBoolean(false);
         client.getEventDispatcher().on(MessageCreateEvent.class)
-          .subscribe(e ->
-            Mono.justOrEmpty(e.getMessage().getContent())
-              .filter(m -> m.startsWith(config.getCommandPrefix()))
-              .filterWhen(m ->
-                e.getMessage()
-                  .getAuthorAsMember()
-                  .map(User::isBot)
-                  .map(isBot -> !isBot)
-              ).subscribe(m -> {
-                CommandDispatcher cd = (CommandDispatcher) commandDispatcher;
-                cd.execute(new DiscordMessageParser(e.getMessage()), m.replace(config.getCommandPrefix(), ""),
-                  application);
-            }));
+          .filter(e -> e.getMessage().getContent().startsWith(config.getCommandPrefix()))
+          .filter(e -> !e.getMessage().getAuthor().map(User::isBot).orElse(true))
+          .subscribe(this::handle, e -> log.error("The discord message subscription has stopped.", e));
+    }
+
+    /**
+     * An error here is logged rather than thrown so the subscription keeps handling later messages.
+     *
+     * @param event - The message that was sent.
+     */
+    private void handle(MessageCreateEvent event) {
+        try {
+            CommandDispatcher cd = (CommandDispatcher) commandDispatcher;
+            Message message = event.getMessage();
+            String key = event.getGuildId()
+              .or(() -> message.getAuthor().map(User::getId))
+              .map(Snowflake::asString)
+              .orElse("");
+            commandExecutor.submit(key, scheduler -> cd.execute(new DiscordMessageParser(message),
+              message.getContent().replace(config.getCommandPrefix(), ""), application, scheduler));
+        } catch (RuntimeException e) {
+            log.error("Error handling a discord message.", e);
+        }
     }
 }
@@ -51,4 +51,9 @@ public class SystemController {
         return service.eventsSse(res);
     }
 
+    @Get
+    public Publisher<Void> stats(HttpServerRequest req, HttpServerResponse res) {
+        return service.statsJson(res);
+    }
+
 }
@@ -25,16 +25,26 @@
 
 package uk.co.bjdavies.http.controllers;
 
+import com.google.gson.Gson;
 import com.google.inject.Inject;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.User;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.server.HttpServerResponse;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.discord.IDiscordFacade;
+import uk.co.bjdavies.api.metrics.ICommandMetrics;
+import uk.co.bjdavies.api.metrics.ILatencySnapshot;
+import uk.co.bjdavies.command.CommandExecutor;
 import uk.co.bjdavies.http.WebServer;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author ben.davies99@outlook.com (Ben Davies)
  * @since 1.0.0
@@ -43,11 +53,16 @@ public class SystemService {
 
     private final IDiscordFacade facade;
     private final IApplication application;
+    private final ICommandMetrics metrics;
+    private final CommandExecutor executor;
 
     @Inject
-    public SystemService(IDiscordFacade facade, IApplication application) {
+    public SystemService(IDiscordFacade facade, IApplication application, ICommandMetrics metrics,
+                         CommandExecutor executor) {
         this.facade = facade;
         this.application = application;
+        this.metrics = metrics;
+        this.executor = executor;
     }
 
     public Publisher<Void> eventsSse(HttpServerResponse res) {
@@ -69,4 +84,51 @@ public class SystemService {
               )
             ));
     }
+
+    public Publisher<Void> statsJson(HttpServerResponse res) {
+        return res
+          .header(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, "*")
+          .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+          .sendString(Mono.fromCallable(() -> {
+              Map<String, Object> stats = new LinkedHashMap<>();
+              stats.put("parse", toMap(metrics.getParseTime()));
+
+              Map<String, Object> middleware = new LinkedHashMap<>();
+              metrics.getMiddlewareTimes().forEach((namespace, snapshot) -> middleware.put(namespace, toMap(snapshot)));
+              stats.put("middleware", middleware);
+
+              List<Map<String, Object>> commands = new ArrayList<>();
+              metrics.getCommandStats().forEach(commandStats -> {
+                  Map<String, Object> command = new LinkedHashMap<>();
+                  command.put("namespace", commandStats.getNamespace());
+                  command.put("command", commandStats.getCommand());
+                  command.put("errors", commandStats.getErrors());
+                  command.put("execution", toMap(commandStats.getExecutionTime()));
+                  command.put("response", toMap(commandStats.getResponseTime()));
+                  commands.add(command);
+              });
+              stats.put("commands", commands);
+
+              Map<String, Object> queue = new LinkedHashMap<>();
+              queue.put("queued", executor.getQueueDepth());
+              queue.put("running", executor.getRunningCount());
+              queue.put("completed", executor.getCompletedCount());
+              queue.put("failed", executor.getFailedCount());
+              queue.put("dropped", executor.getDroppedCount());
+              stats.put("executor", queue);
+
+              return new Gson().toJson(stats);
+          }));
+    }
+
+    private Map<String, Object> toMap(ILatencySnapshot snapshot) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", snapshot.getCount());
+        map.put("meanMicros", snapshot.getMean());
+        map.put("p50Micros", snapshot.getPercentile(50));
+        map.put("p90Micros", snapshot.getPercentile(90));
+        map.put("p99Micros", snapshot.getPercentile(99));
+        map.put("maxMicros", snapshot.getMax());
+        return map;
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.metrics;
+
+import lombok.Getter;
+import uk.co.bjdavies.api.metrics.ICommandMetrics;
+import uk.co.bjdavies.api.metrics.ICommandStats;
+import uk.co.bjdavies.api.metrics.ILatencySnapshot;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is where the {@link uk.co.bjdavies.command.CommandDispatcher} records how long each stage of a command took.
+ * Recording never locks so it can be called from any thread.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public class CommandMetrics implements ICommandMetrics {
+
+    private final LatencyHistogram parseTime = new LatencyHistogram();
+
+    /**
+     * Key: Namespace
+     */
+    private final Map<String, LatencyHistogram> middlewareTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Key: Namespace
+     * Value: Key: First alias
+     */
+    private final Map<String, Map<String, CommandRecorder>> commands = new ConcurrentHashMap<>();
+
+    /**
+     * This will record how long a message took to parse.
+     *
+     * @param nanos - The time in nanoseconds.
+     */
+    public void recordParse(long nanos) {
+        parseTime.record(nanos);
+    }
+
+    /**
+     * This will record how long the middleware took to run for a namespace.
+     *
+     * @param namespace - The namespace of the command.
+     * @param nanos     - The time in nanoseconds.
+     */
+    public void recordMiddleware(String namespace, long nanos) {
+        middlewareTimes.computeIfAbsent(namespace, n -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * This will record how long a command took from being dispatched until it had produced all of its responses.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The first alias of the command.
+     * @param nanos     - The time in nanoseconds.
+     */
+    public void recordExecution(String namespace, String command, long nanos) {
+        getRecorder(namespace, command).executionTime.record(nanos);
+    }
+
+    /**
+     * This will record how long a response took to be sent.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The first alias of the command.
+     * @param nanos     - The time in nanoseconds.
+     */
+    public void recordResponse(String namespace, String command, long nanos) {
+        getRecorder(namespace, command).responseTime.record(nanos);
+    }
+
+    /**
+     * This will record that a command or one of its responses failed.
+     *
+     * @param namespace - The namespace of the command.
+     * @param command   - The first alias of the command.
+     */
+    public void recordError(String namespace, String command) {
+        getRecorder(namespace, command).errors.increment();
+    }
+
+    private CommandRecorder getRecorder(String namespace, String command) {
+        return commands.computeIfAbsent(namespace, n -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, c -> new CommandRecorder(namespace, command));
+    }
+
+    @Override
+    public ILatencySnapshot getParseTime() {
+        return parseTime.snapshot();
+    }
+
+    @Override
+    public Map<String, ILatencySnapshot> getMiddlewareTimes() {
+        Map<String, ILatencySnapshot> snapshots = new TreeMap<>();
+        middlewareTimes.forEach((namespace, histogram) -> snapshots.put(namespace, histogram.snapshot()));
+        return snapshots;
+    }
+
+    @Override
+    public List<ICommandStats> getCommandStats() {
+        List<ICommandStats> stats = new ArrayList<>();
+        commands.values().forEach(namespace -> namespace.values().forEach(recorder ->
+                stats.add(new CommandStats(recorder.namespace, recorder.command, recorder.executionTime.snapshot(),
+                        recorder.responseTime.snapshot(), recorder.errors.sum()))));
+        stats.sort(Comparator.comparing(ICommandStats::getNamespace).thenComparing(ICommandStats::getCommand));
+        return stats;
+    }
+
+    private static final class CommandRecorder {
+        private final String namespace;
+        private final String command;
+        private final LatencyHistogram executionTime = new LatencyHistogram();
+        private final LatencyHistogram responseTime = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private CommandRecorder(String namespace, String command) {
+            this.namespace = namespace;
+            this.command = command;
+        }
+    }
+
+    @Getter
+    private static final class CommandStats implements ICommandStats {
+        private final String namespace;
+        private final String command;
+        private final ILatencySnapshot executionTime;
+        private final ILatencySnapshot responseTime;
+        private final long errors;
+
+        private CommandStats(String namespace, String command, ILatencySnapshot executionTime,
+                             ILatencySnapshot responseTime, long errors) {
+            this.namespace = namespace;
+            this.command = command;
+            this.executionTime = executionTime;
+            this.responseTime = responseTime;
+            this.errors = errors;
+        }
+    }
+}
@@ -29,9 +29,15 @@ import lombok.extern.log4j.Log4j2;
 import uk.co.bjdavies.api.IApplication;
 import uk.co.bjdavies.api.command.*;
 import uk.co.bjdavies.api.plugins.IPluginSettings;
+import uk.co.bjdavies.command.CommandResponse;
+import uk.co.bjdavies.command.response.ResponseHandler;
+import uk.co.bjdavies.command.response.ResponseHandlerFactory;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -44,6 +50,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Log4j2
 public final class PluginCommandParser {
 
+    private static final MethodType COMMAND_TYPE = MethodType.methodType(Object.class, ICommandContext.class);
+
     private final IPluginSettings pluginSettings;
     private final Object pluginObj;
     private final IApplication application;
@@ -67,11 +75,20 @@ public final class PluginCommandParser {
                     if (command.aliases().length == 0) {
                         newAliases.add(method.getName());
                     }
+                    String[] aliases = newAliases.toArray(new String[0]);
+
+                    MethodHandle handle = bindCommand(method);
+                    if (handle == null) {
+                        continue;
+                    }
+                    boolean returnsVoid = method.getReturnType() == void.class || method.getReturnType() == Void.class;
+                    Type returnType = method.getGenericReturnType();
+                    ResponseHandler responseHandler = returnsVoid ? null : ResponseHandlerFactory.getHandler(returnType);
 
                     commands.add(new ICommand() {
                         @Override
                         public String[] getAliases() {
-                            return newAliases.toArray(new String[0]);
+                            return aliases.clone();
                         }
 
                         @Override
@@ -102,13 +119,10 @@ public final class PluginCommandParser {
 
                         @Override
                         public void exec(IApplication application, ICommandContext commandContext) {
-                            PluginCommandDefinition cd = new PluginCommandExecutionBuilder(method.getName(),
-                                    pluginObj.getClass()).setParameterTypes(ICommandContext.class)
-                                    .setArgs(commandContext).build();
-                            if (method.getReturnType().equals(Void.class)) {
-                                executePluginCommand(cd);
+                            if (returnsVoid) {
+                                executePluginCommand(handle, commandContext);
                             } else {
-                                if (!commandContext.getCommandResponse().send(method.getGenericReturnType(), executePluginCommand(cd))) {
+                                if (!sendResponse(commandContext, executePluginCommand(handle, commandContext))) {
                                     log.error("Plugin command: " + pluginSettings.getName() + "#" + method.getName() +
                                             " is not supported, command will not run please return a valid response type or use void and use commandContext.getCommandResponse()" +
                                             ".send(Data)");
@@ -116,6 +130,14 @@ public final class PluginCommandParser {
                             }
                         }
 
+                        private boolean sendResponse(ICommandContext commandContext, Object response) {
+                            ICommandResponse commandResponse = commandContext.getCommandResponse();
+                            if (responseHandler != null && commandResponse instanceof CommandResponse) {
+                                return ((CommandResponse) commandResponse).send(returnType, responseHandler, response);
+                            }
+                            return commandResponse.send(returnType, response);
+                        }
+
                         @Override
                         public boolean validateUsage(ICommandContext commandContext) {
                             boolean[] isValid = new boolean[]{true};
@@ -252,31 +274,40 @@ public final class PluginCommandParser {
         }
     }
 
+    /**
+     * This will bind a plugin command method to the plugin instance once so that it can be invoked
+     * without any reflective lookup each time the command is run.
+     *
+     * @param method - The method annotated with {@link Command}.
+     * @return MethodHandle of type (ICommandContext)Object or null if the method could not be bound.
+     */
+    private MethodHandle bindCommand(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).bindTo(pluginObj).asType(COMMAND_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.error("Plugin command: " + pluginSettings.getName() + "#" + method.getName() +
+                    " could not be bound, command will not be registered.", e);
+            return null;
+        }
+    }
+
     /**
      * This will execute a plugin command that are placed in the plugin the command has to be
      * annotated with {@link Command}
      * <p>
      * e.g. play()
      *
-     * @param pluginCommandDefinition - This is the set of data that will be used to run the command.
+     * @param handle         - The bound command handle created by {@link #bindCommand(Method)}.
+     * @param commandContext - The context the command is being run with.
      * @return Object
      */
-    public Object executePluginCommand(PluginCommandDefinition pluginCommandDefinition) {
-        Class<?> pluginClass = pluginCommandDefinition.getPluginClass();
+    private Object executePluginCommand(MethodHandle handle, ICommandContext commandContext) {
         try {
-
-            Method method = pluginClass.getDeclaredMethod(pluginCommandDefinition.getName(),
-                    pluginCommandDefinition.getParameterTypes());
-            method.setAccessible(true);
-
-
-            if (method.isAnnotationPresent(Command.class)) {
-                return method.invoke(pluginObj, pluginCommandDefinition.getArgs());
-            }
-
-        } catch (NoSuchMethodException e) {
-            log.error("The module command entered does not exist inside this module.", e);
-        } catch (InvocationTargetException | IllegalAccessException e) {
+            return (Object) handle.invokeExact(commandContext);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             log.error("The module command did not execute correctly.", e);
         }
         return null;
@@ -102,6 +102,7 @@ public class PluginContainer implements IPluginContainer {
                 PluginCommandParser commandParser = new PluginCommandParser(application, settings, obj);
                 application.getCommandDispatcher().addNamespace(settings.getNamespace(),
                         commandParser.parseCommands());
+                application.getVariableContainer().addAllFrom(settings.getName(), obj);
                 log.info("Added plugin: " + settings.getName() + ", using namespace: \"" + settings.getNamespace() + "\"");
                 this.settings.put(name, settings);
                 plugins.put(name, obj);
@@ -155,6 +156,10 @@ public class PluginContainer implements IPluginContainer {
             if (o instanceof IPluginEvents) {
                 ((IPluginEvents) o).onShutdown();
             }
+            IPluginSettings pluginSettings = settings.remove(name);
+            if (pluginSettings != null) {
+                application.getVariableContainer().removeNamespace(pluginSettings.getName());
+            }
             plugins.remove(name);
         }
     }
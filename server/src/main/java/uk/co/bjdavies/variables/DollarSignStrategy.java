@@ -39,12 +39,11 @@ import java.util.regex.Pattern;
  */
 
 public class DollarSignStrategy implements VariableStrategy {
-    @Override
-    public String[] parseAllVariables(String toParse) {
-        String patternString = "\\$\\(([a-zA-Z0-9()., ]+)\\)";
 
-        Pattern pattern = Pattern.compile(patternString);
+    private static final Pattern pattern = Pattern.compile("\\$\\(([a-zA-Z0-9()., ]+)\\)");
 
+    @Override
+    public String[] parseAllVariables(String toParse) {
         List<String> found = new ArrayList<>();
 
         Matcher matcher = pattern.matcher(toParse);
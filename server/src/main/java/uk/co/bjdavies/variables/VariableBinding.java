@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.variables;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import uk.co.bjdavies.api.variables.Variable;
+import uk.co.bjdavies.api.variables.VariableCachePolicy;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * This is a {@link Variable} field or method bound to a {@link MethodHandle} so its value can be read without any
+ * reflective lookup. An instance variable is bound to one instance of its class that is created when the variable is
+ * added, rather than a new instance each time it is used.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+@Log4j2
+public final class VariableBinding {
+
+    /**
+     * This is how many different arguments a function keeps values for.
+     */
+    private static final int MAX_CACHED_VALUES = 256;
+
+    private static final Duration FOREVER = Duration.ofDays(3650);
+
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    @Getter
+    private final String name;
+
+    /**
+     * The {@link Field} or {@link Method} that was bound.
+     */
+    @Getter
+    private final Member member;
+
+    /**
+     * (Object[])Object
+     */
+    private final MethodHandle handle;
+
+    @Getter
+    private final Class<?>[] parameterTypes;
+
+    /**
+     * This will turn the text of each argument into its parameter type.
+     */
+    private final List<Function<String, Object>> converters;
+
+    @Getter
+    private final VariableCachePolicy cachePolicy;
+
+    /**
+     * Key: The arguments of the function, "" for a field or a function without any.
+     * This is null for {@link VariableCachePolicy#PER_REQUEST}
+     */
+    @Nullable
+    private final Cache<String, Optional<Object>> values;
+
+    /**
+     * This is how long an asynchronous value is replayed for.
+     */
+    private final Duration valueTtl;
+
+    private VariableBinding(String name, Member member, MethodHandle handle, Class<?>[] parameterTypes,
+                            @Nullable Variable variable) {
+        this.name = name;
+        this.member = member;
+        this.handle = handle;
+        this.parameterTypes = parameterTypes;
+        this.converters = converters(parameterTypes);
+        this.cachePolicy = variable != null ? variable.cache() : VariableCachePolicy.PER_REQUEST;
+
+        this.valueTtl = cachePolicy == VariableCachePolicy.TTL
+                ? Duration.ofMillis(Math.max(1, variable.ttl()))
+                : FOREVER;
+
+        if (cachePolicy == VariableCachePolicy.PER_REQUEST) {
+            values = null;
+        } else {
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VALUES);
+            if (cachePolicy == VariableCachePolicy.TTL) {
+                builder.expireAfterWrite(Math.max(1, variable.ttl()), TimeUnit.MILLISECONDS);
+            }
+            values = builder.build();
+        }
+    }
+
+    /**
+     * This will bind a field, the value of the field is read each time unless it is cached.
+     *
+     * @param name  - The name of the variable.
+     * @param field - The field.
+     * @return VariableBinding or null if the field could not be bound.
+     */
+    @Nullable
+    public static VariableBinding of(String name, Field field) {
+        return of(name, field, null);
+    }
+
+    /**
+     * This will bind a field of an instance that already exists e.g. a plugin.
+     *
+     * @param name     - The name of the variable.
+     * @param field    - The field.
+     * @param receiver - The instance to read the field from, null to create one if the field is not static.
+     * @return VariableBinding or null if the field could not be bound.
+     */
+    @Nullable
+    public static VariableBinding of(String name, Field field, @Nullable Object receiver) {
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                getter = getter.bindTo(receiver != null ? receiver : receiver(field.getDeclaringClass()));
+            }
+            getter = MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class)), 0,
+                    Object[].class);
+            return new VariableBinding(name, field, getter, new Class<?>[0], field.getAnnotation(Variable.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.error("Unable to bind the variable: " + name, e);
+            return null;
+        }
+    }
+
+    /**
+     * This will bind a method, it is called with the arguments given in the response.
+     *
+     * @param name   - The name of the variable.
+     * @param method - The method.
+     * @return VariableBinding or null if the method could not be bound.
+     */
+    @Nullable
+    public static VariableBinding of(String name, Method method) {
+        return of(name, method, null);
+    }
+
+    /**
+     * This will bind a method of an instance that already exists e.g. a plugin.
+     *
+     * @param name     - The name of the variable.
+     * @param method   - The method.
+     * @param receiver - The instance to call the method on, null to create one if the method is not static.
+     * @return VariableBinding or null if the method could not be bound.
+     */
+    @Nullable
+    public static VariableBinding of(String name, Method method, @Nullable Object receiver) {
+        try {
+            method.setAccessible(true);
+            MethodHandle invoker = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                invoker = invoker.bindTo(receiver != null ? receiver : receiver(method.getDeclaringClass()));
+            }
+            invoker = invoker.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKE_TYPE);
+            return new VariableBinding(name, method, invoker, method.getParameterTypes(),
+                    method.getAnnotation(Variable.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.error("Unable to bind the variable: " + name, e);
+            return null;
+        }
+    }
+
+    private static List<Function<String, Object>> converters(Class<?>[] parameterTypes) {
+        List<Function<String, Object>> converters = new ArrayList<>(parameterTypes.length);
+        for (Class<?> parameterType : parameterTypes) {
+            converters.add(converter(parameterType));
+        }
+        return converters;
+    }
+
+    /**
+     * This will return how the text of an argument is turned into a parameter type.
+     *
+     * @param type - The type of the parameter.
+     * @return Function
+     * @throws IllegalArgumentException - If the type can not be written in a response.
+     */
+    private static Function<String, Object> converter(Class<?> type) {
+        if (type == String.class || type == Object.class || type == CharSequence.class) {
+            return value -> value;
+        } else if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        } else if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        } else if (type == float.class || type == Float.class) {
+            return Float::valueOf;
+        } else if (type == double.class || type == Double.class) {
+            return Double::valueOf;
+        } else if (type == short.class || type == Short.class) {
+            return Short::valueOf;
+        } else if (type == byte.class || type == Byte.class) {
+            return Byte::valueOf;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return value -> {
+                if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                    return Boolean.valueOf(value);
+                }
+                throw new IllegalArgumentException("Expected true or false but got: " + value);
+            };
+        } else if (type == char.class || type == Character.class) {
+            return value -> {
+                if (value.length() == 1) {
+                    return value.charAt(0);
+                }
+                throw new IllegalArgumentException("Expected a single character but got: " + value);
+            };
+        } else if (type.isEnum()) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+            return value -> {
+                Object constant = constants.get(value.toUpperCase());
+                if (constant != null) {
+                    return constant;
+                }
+                throw new IllegalArgumentException("No enum constant " + type.getName() + "." + value.toUpperCase());
+            };
+        }
+        throw new IllegalArgumentException("Variable parameters of type " + type.getName() + " are not supported.");
+    }
+
+    private static Object receiver(Class<?> clazz) throws ReflectiveOperationException {
+        Constructor<?> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * This will turn the arguments written in a response into the types the function takes.
+     *
+     * @param values - The text of each argument, see {@link VariableTemplate.Reference#getArgumentValues()}
+     * @return Object[]
+     * @throws IllegalArgumentException - If the number of arguments is wrong or an argument can not be converted.
+     */
+    public Object[] convert(List<String> values) {
+        if (values.size() != converters.size()) {
+            throw new IllegalArgumentException("The variable " + name + " takes " + converters.size() +
+                    " argument(s) but was given " + values.size());
+        }
+
+        Object[] arguments = new Object[converters.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = converters.get(i).apply(values.get(i));
+        }
+        return arguments;
+    }
+
+    /**
+     * This will return the value of the variable, from the cache if its policy allows it.
+     *
+     * @param key       - The arguments as they were written in the response, "" if there are none.
+     * @param arguments - This will return the arguments to call the function with, it is only used on a cache miss.
+     * @return Object or null if the variable has no value.
+     * @throws Throwable - If the variable threw.
+     */
+    @Nullable
+    public Object get(String key, Supplier<Object[]> arguments) throws Throwable {
+        if (values == null) {
+            return invoke(arguments.get());
+        }
+
+        try {
+            return values.get(key, () -> Optional.ofNullable(cacheable(call(arguments.get())))).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object call(Object[] arguments) throws Exception {
+        try {
+            return invoke(arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ExecutionException(t);
+        }
+    }
+
+    /**
+     * An asynchronous value is cached as a Mono that replays its result, an error or an empty result is not kept
+     * so the next response will try again.
+     *
+     * @param value - The value of the variable.
+     * @return Object
+     */
+    private Object cacheable(Object value) {
+        if (value instanceof CompletionStage) {
+            value = Mono.fromFuture(((CompletionStage<?>) value).toCompletableFuture());
+        }
+        if (value instanceof Mono) {
+            return ((Mono<?>) value).cache(v -> valueTtl, e -> Duration.ZERO, () -> Duration.ZERO);
+        }
+        return value;
+    }
+
+    private Object invoke(Object[] arguments) throws Throwable {
+        return (Object) handle.invokeExact(arguments);
+    }
+
+    /**
+     * This will forget every cached value of the variable.
+     */
+    public void invalidate() {
+        if (values != null) {
+            values.invalidateAll();
+        }
+    }
+}
@@ -22,7 +22,6 @@
  * SOFTWARE.
  *
  */
-
 package uk.co.bjdavies.variables;
 
 import lombok.extern.log4j.Log4j2;
@@ -31,6 +30,7 @@ import uk.co.bjdavies.api.variables.Variable;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,28 +40,14 @@ import java.util.Map;
  * Class Name: VariableContainer.java
  * Compiled Class Name: VariableContainer.class
  * Date Created: 30/01/2018
+ * <p>
+ * Every change builds a new immutable {@link Snapshot} and publishes it through a volatile field, so responses can
+ * look up variables without a lock while plugins add or remove theirs. Writers are serialized.
  */
 @Log4j2
 public class VariableContainer implements IVariableContainer {
-    /**
-     * This is the Map for all the field variables.
-     */
-    private final Map<String, Field> variableFields;
 
-
-    /**
-     * This is the Map for all the method variables.
-     */
-    private final Map<String, Method> variableMethods;
-
-
-    /**
-     * This is where the Maps get initialized with the HashMap implementation of Map.
-     */
-    public VariableContainer() {
-        variableFields = new HashMap<>();
-        variableMethods = new HashMap<>();
-    }
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
 
 
     /**
@@ -75,8 +61,36 @@ public class VariableContainer implements IVariableContainer {
         }
 
         for (Field field : clazz.getFields()) {
-            if (field.isAnnotationPresent(Variable.class)) variableFields.put(field.getName(), field);
+            if (field.isAnnotationPresent(Variable.class)) addField(field.getName(), field);
+        }
+    }
+
+    /**
+     * This will add all the variables of an instance e.g. a plugin, they can be used as $(namespace.name)
+     *
+     * @param namespace - The namespace of the variables, usually the name of the plugin.
+     * @param instance  - The instance that the variables are read from.
+     */
+    @Override
+    public synchronized void addAllFrom(String namespace, Object instance) {
+        Map<String, VariableBinding> fields = new HashMap<>(snapshot.fields);
+        Map<String, VariableBinding> methods = new HashMap<>(snapshot.methods);
+
+        for (Method method : instance.getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Variable.class)) {
+                put(methods, namespace + "." + method.getName(), VariableBinding.of(namespace + "." + method.getName(),
+                        method, instance));
+            }
         }
+
+        for (Field field : instance.getClass().getDeclaredFields()) {
+            if (field.isAnnotationPresent(Variable.class)) {
+                put(fields, namespace + "." + field.getName(), VariableBinding.of(namespace + "." + field.getName(),
+                        field, instance));
+            }
+        }
+
+        snapshot = new Snapshot(fields, methods);
     }
 
     /**
@@ -85,11 +99,14 @@ public class VariableContainer implements IVariableContainer {
      * @param name   - the name of the variable.
      * @param method - the method for the variable.
      */
-    public void addMethod(String name, Method method) {
-        if (variableMethods.containsKey(name) || variableMethods.containsValue(method)) {
+    public synchronized void addMethod(String name, Method method) {
+        Snapshot current = snapshot;
+        if (current.methods.containsKey(name) || current.containsMember(current.methods, method)) {
             log.error("The key or method is already in the container.");
         } else {
-            variableMethods.put(name, method);
+            Map<String, VariableBinding> methods = new HashMap<>(current.methods);
+            put(methods, name, VariableBinding.of(name, method));
+            snapshot = new Snapshot(current.fields, methods);
         }
     }
 
@@ -100,29 +117,63 @@ public class VariableContainer implements IVariableContainer {
      * @param name  - the name of the variable.
      * @param field - the field for the variable.
      */
-    public void addField(String name, Field field) {
-        if (variableFields.containsKey(name) || variableFields.containsValue(field)) {
+    public synchronized void addField(String name, Field field) {
+        Snapshot current = snapshot;
+        if (current.fields.containsKey(name) || current.containsMember(current.fields, field)) {
             log.error("The key or field is already in the container.");
         } else {
-            variableFields.put(name, field);
+            Map<String, VariableBinding> fields = new HashMap<>(current.fields);
+            put(fields, name, VariableBinding.of(name, field));
+            snapshot = new Snapshot(fields, current.methods);
         }
     }
 
+    private void put(Map<String, VariableBinding> bindings, String name, VariableBinding binding) {
+        if (binding == null) {
+            return;
+        }
+        if (bindings.containsKey(name)) {
+            log.error("The variable: " + name + " is already in the container.");
+            return;
+        }
+        bindings.put(name, binding);
+    }
+
     /**
      * This will remove one from the container based on the name.
      *
      * @param name - The name of the variable.
      */
-    public void remove(String name) {
-        if (variableFields.containsKey(name)) {
-            variableFields.remove(name);
-        } else if (variableMethods.containsKey(name)) {
-            variableMethods.remove(name);
+    public synchronized void remove(String name) {
+        Snapshot current = snapshot;
+        if (current.fields.containsKey(name)) {
+            Map<String, VariableBinding> fields = new HashMap<>(current.fields);
+            fields.remove(name);
+            snapshot = new Snapshot(fields, current.methods);
+        } else if (current.methods.containsKey(name)) {
+            Map<String, VariableBinding> methods = new HashMap<>(current.methods);
+            methods.remove(name);
+            snapshot = new Snapshot(current.fields, methods);
         } else {
             log.error("The name specified cannot be found inside this container.");
         }
     }
 
+    /**
+     * This will remove all the variables in a namespace.
+     *
+     * @param namespace - The namespace of the variables, usually the name of the plugin.
+     */
+    @Override
+    public synchronized void removeNamespace(String namespace) {
+        String prefix = namespace + ".";
+        Map<String, VariableBinding> fields = new HashMap<>(snapshot.fields);
+        Map<String, VariableBinding> methods = new HashMap<>(snapshot.methods);
+        fields.keySet().removeIf(name -> name.startsWith(prefix));
+        methods.keySet().removeIf(name -> name.startsWith(prefix));
+        snapshot = new Snapshot(fields, methods);
+    }
+
     /**
      * This will return a field based on the name specified.
      *
@@ -130,12 +181,12 @@ public class VariableContainer implements IVariableContainer {
      * @return Field
      */
     public Field getFieldVariable(String name) {
-        if (!variableFields.containsKey(name)) {
+        VariableBinding binding = snapshot.fields.get(name);
+        if (binding == null) {
             log.error("Field cannot be found with the name specified in this container.");
-        } else {
-            return variableFields.get(name);
+            return null;
         }
-        return null;
+        return (Field) binding.getMember();
     }
 
     /**
@@ -145,12 +196,32 @@ public class VariableContainer implements IVariableContainer {
      * @return Method
      */
     public Method getMethodVariable(String name) {
-        if (!variableMethods.containsKey(name)) {
+        VariableBinding binding = snapshot.methods.get(name);
+        if (binding == null) {
             log.error("Method cannot be found with the name specified in this container.");
-        } else {
-            return variableMethods.get(name);
+            return null;
         }
-        return null;
+        return (Method) binding.getMember();
+    }
+
+    /**
+     * This will return the handle for a field variable.
+     *
+     * @param name - the name of the variable.
+     * @return VariableBinding or null if there is no field with the name.
+     */
+    public VariableBinding getFieldBinding(String name) {
+        return snapshot.fields.get(name);
+    }
+
+    /**
+     * This will return the handle for a method variable.
+     *
+     * @param name - the name of the variable.
+     * @return VariableBinding or null if there is no method with the name.
+     */
+    public VariableBinding getMethodBinding(String name) {
+        return snapshot.methods.get(name);
     }
 
     /**
@@ -160,9 +231,25 @@ public class VariableContainer implements IVariableContainer {
      * @return Boolean
      */
     public boolean exists(String name) {
-        if (variableFields.containsKey(name)) {
-            return true;
-        } else return variableMethods.containsKey(name);
+        Snapshot current = snapshot;
+        return current.fields.containsKey(name) || current.methods.containsKey(name);
+    }
+
+    /**
+     * This is the variables at a point in time, it is never changed after it has been published.
+     */
+    private static final class Snapshot {
+        private final Map<String, VariableBinding> fields;
+        private final Map<String, VariableBinding> methods;
+
+        private Snapshot(Map<String, VariableBinding> fields, Map<String, VariableBinding> methods) {
+            this.fields = Collections.unmodifiableMap(fields);
+            this.methods = Collections.unmodifiableMap(methods);
+        }
+
+        private boolean containsMember(Map<String, VariableBinding> bindings, Object member) {
+            return bindings.values().stream().anyMatch(b -> b.getMember().equals(member));
+        }
     }
 
 }
@@ -25,17 +25,17 @@
 
 package uk.co.bjdavies.variables;
 
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
 import uk.co.bjdavies.api.IApplication;
-import uk.co.bjdavies.api.variables.IVariableContainer;
-import uk.co.bjdavies.api.variables.Variable;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * BabbleBot, open-source Discord Bot
@@ -44,15 +44,14 @@ import java.util.regex.Pattern;
  * Compiled Class Name: VariableParser.class
  * Date Created: 02/02/2018
  */
-//TODO: Make plugin variables work again.
-//TODO: Fix multiple parameter arguments for variable functions.
+@Log4j2
 public class VariableParser {
 
     /**
-     * This is the Variable types and there is 2 of them normal variable and a variable that is a function.
+     * This is how long an asynchronous variable can take before its text is left in the response.
      */
-    private final int VARIABLE = 0;
-    private final int FUNCTION = 1;
+    private static final Duration ASYNC_TIMEOUT = Duration.ofSeconds(5);
+
     /**
      * The application instance.
      */
@@ -60,11 +59,12 @@ public class VariableParser {
     /**
      * This is the string that has been parsed and will get returned to the user.
      */
-    private String parsedString;
+    private final String parsedString;
 
 
     /**
-     * This is where the variables get parsed.
+     * This is where the variables get parsed, this will wait for any asynchronous variables so use
+     * {@link #parse(String, IApplication)} from reactive code.
      *
      * @param commandResponse - The response of the command.
      * @param application     - The application instance.
@@ -72,316 +72,109 @@ public class VariableParser {
     public VariableParser(String commandResponse, IApplication application) {
         this.application = application;
 
-        IVariableContainer container = application.getVariableContainer();
-
-        parsedString = commandResponse;
-        String[] variablesFound = findAllVariables(new DollarSignStrategy(), commandResponse);
-        parsedString = removeAllVariableStrategyTags(new DollarSignStrategy(), commandResponse);
-        for (String variable : variablesFound) {
-            int type = getVariableType(variable);
-
-            if (type == VARIABLE) {
-
-                boolean exists = container.exists(variable);
-
-                if (exists) {
-
-                    Field field = container.getFieldVariable(variable);
-                    field.setAccessible(true);
-                    Class<?> targetType = field.getDeclaringClass();
-                    try {
-                        Object objectValue = targetType.newInstance();
-                        Object obj = field.get(objectValue);
-
-                        parsedString = parsedString.replace(variable, obj.toString());
-
-                    } catch (InstantiationException | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                } else {
-                    if (isModuleVariable(variable)) {
-                        Field field = getModuleVariableField(variable);
-                        assert field != null;
-                        field.setAccessible(true);
-                        try {
-                            Module module = getModuleFromVariable(variable);
-                            Object obj = field.get(module);
-
-                            parsedString = parsedString.replace(variable, obj.toString());
-
-                        } catch (IllegalAccessException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-
-            } else if (type == FUNCTION) {
-                boolean exists = container.exists(parseMethodName(variable));
-
-                if (exists) {
-                    Method method = container.getMethodVariable(parseMethodName(variable));
-                    method.setAccessible(true);
-
-                    Class<?> declaredClass = method.getDeclaringClass();
-
-                    try {
-                        Object object = declaredClass.newInstance();
-
-                        Object returnVal;
-                        if (!hasMethodGotParams(variable))
-                            returnVal = method.invoke(object);
-                        else {
-                            Object[] params = getMethodParams(variable);
-                            returnVal = method.invoke(object, params);
-                        }
-
-                        if (returnVal != null) {
-                            parsedString = parsedString.replace(variable, returnVal.toString());
-                        }
-
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        e.printStackTrace();
-                    }
-                } else {
-                    if (isModuleVariable(variable)) {
-                        Method method = getModuleVariableMethod(variable);
-                        assert method != null;
-                        method.setAccessible(true);
-
-
-                        try {
-                            Module module = getModuleFromVariable(variable);
-
-                            Object returnVal;
-                            if (!hasMethodGotParams(variable))
-                                returnVal = method.invoke(module);
-                            else {
-                                Object[] params = getMethodParams(variable);
-                                returnVal = method.invoke(module, params);
-                            }
-
-                            if (returnVal != null) {
-                                parsedString = parsedString.replace(variable, returnVal.toString());
-                            }
-
-                        } catch (IllegalAccessException | InvocationTargetException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * This returns if a variable used is one used in a module.
-     *
-     * @param variable - This is the variable being parsed.
-     * @return boolean
-     */
-    private boolean isModuleVariable(String variable) {
-        if (variable.matches("[a-zA-Z0-9]+\\.[a-zA-Z0-9()., ]+")) {
-            String moduleName = variable.substring(0, variable.indexOf("."));
-//            if (application.getModuleContainer().doesModuleExist(moduleName))
-//            {
-//                return true;
-//            }
-            return false;
+        VariableTemplate template = VariableTemplate.compile(commandResponse);
+        if (template.getReferences().isEmpty()) {
+            parsedString = commandResponse;
+        } else {
+            Map<String, Object> values = resolveAll(application, template);
+            values.replaceAll((text, value) ->
+                    value instanceof Mono ? ((Mono<?>) value).cast(String.class).block() : value);
+            parsedString = template.render(reference -> (String) values.get(reference.getText()));
         }
-
-        return false;
     }
 
     /**
-     * This will return a Field from the module that is being used.
+     * This will parse the variables in a response, every asynchronous variable is waited for at the same time so
+     * the response is ready once the slowest one is.
      *
-     * @param variable - The variable being parsed.
-     * @return Field
+     * @param commandResponse - The response of the command.
+     * @param application     - The application instance.
+     * @return Mono - The parsed response.
      */
-    private Field getModuleVariableField(String variable) {
-        Class<? extends Module> moduleClass = getModuleFromVariable(variable).getClass();
-
-        try {
-            Field field = moduleClass.getDeclaredField(variable.substring(variable.indexOf(".") + 1));
-
-            if (field.isAnnotationPresent(Variable.class)) {
-                return field;
-            }
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
+    public static Mono<String> parse(String commandResponse, IApplication application) {
+        VariableTemplate template = VariableTemplate.compile(commandResponse);
+        if (template.getReferences().isEmpty()) {
+            return Mono.just(commandResponse);
         }
 
-        return null;
-    }
-
-
-    /**
-     * This will return a Method from the module that is being used.
-     *
-     * @param variable - The variable being parsed.
-     * @return Method
-     */
-    private Method getModuleVariableMethod(String variable) {
-        Class<? extends Module> moduleClass = getModuleFromVariable(variable).getClass();
-
-        try {
-
-            Method method = moduleClass.getDeclaredMethod(parseMethodName(variable.substring(variable.indexOf(".") + 1)));
-
-            if (method.isAnnotationPresent(Variable.class)) {
-                return method;
+        Map<String, Object> values = resolveAll(application, template);
+        List<String> pendingTexts = new ArrayList<>();
+        List<Mono<Optional<String>>> pending = new ArrayList<>();
+        values.forEach((text, value) -> {
+            if (value instanceof Mono) {
+                pendingTexts.add(text);
+                pending.add(((Mono<?>) value).cast(String.class).map(Optional::of).defaultIfEmpty(Optional.empty()));
             }
+        });
 
-        } catch (NoSuchMethodException e) {
-            e.printStackTrace();
+        if (pending.isEmpty()) {
+            return Mono.just(template.render(reference -> (String) values.get(reference.getText())));
         }
 
-        return null;
-    }
-
-    /**
-     * This will return a Module.
-     *
-     * @param variable - The variable being parsed.
-     * @return Module
-     */
-    private Module getModuleFromVariable(String variable) {
-//        return application.getModuleContainer().getModule(variable.substring(0, variable.indexOf(".")));
-        return null;
+        return Mono.zip(pending, results -> {
+            for (int i = 0; i < results.length; i++) {
+                values.put(pendingTexts.get(i), ((Optional<?>) results[i]).orElse(null));
+            }
+            return template.render(reference -> (String) values.get(reference.getText()));
+        });
     }
 
-
     /**
-     * This parses the parameters of the variable passed by the command response and will make an Object[] of all the params.
-     * Which will get passed into the method that gets invoked.
+     * This will work out the value of every variable in the template, each variable is only worked out once.
      *
-     * @param variable - The variable name that is being parsed e.g. getRandomGIF(example)
-     * @return Object[]
-     */
-    private Object[] getMethodParams(String variable) {
-        List<String> params = new ArrayList<>();
-        List<Object> objects = new ArrayList<>();
-
-        Pattern pattern = Pattern.compile("(([a-zA-Z0-9. ]+),|([a-zA-Z0-9. ]+))");
-        Matcher matcher = pattern.matcher(variable.substring(variable.indexOf("(") + 1, variable.indexOf(")")));
-        while (matcher.find()) {
-            params.add(matcher.group(1).replace(",", ""));
-        }
-
-        for (String param : params) {
-            if (isBoolean(param)) {
-                objects.add(Boolean.parseBoolean(param));
-            } else if (isFloat(param)) {
-                objects.add(Float.parseFloat(param));
-            } else if (isInteger(param)) {
-                objects.add(Integer.parseInt(param));
-            } else if (param.contains("\"")) {
-                objects.add(param.replace("\"", ""));
-            } else {
-                objects.add(param);
+     * @param application - The application instance.
+     * @param template    - The template of the response.
+     * @return Map - Key: The text of the variable, Value: a String, a Mono of a String or null.
+     */
+    private static Map<String, Object> resolveAll(IApplication application, VariableTemplate template) {
+        VariableContainer container = (VariableContainer) application.getVariableContainer();
+        Map<String, Object> values = new HashMap<>();
+        for (VariableTemplate.Reference reference : template.getReferences()) {
+            if (!values.containsKey(reference.getText())) {
+                values.put(reference.getText(), resolve(container, reference));
             }
         }
-
-
-        return objects.toArray(new Object[0]);
+        return values;
     }
 
     /**
-     * This checks of the method parameter is a boolean.
+     * This will return the value of a variable.
      *
-     * @param val - The value to be checked.
-     * @return boolean
+     * @param container - The container of the global variables.
+     * @param reference - The variable from the template.
+     * @return Object - a String, a Mono of a String or null if the variable could not be found.
      */
-    private boolean isBoolean(String val) {
-        return val.equalsIgnoreCase("true") || val.equalsIgnoreCase("false");
-    }
+    private static Object resolve(VariableContainer container, VariableTemplate.Reference reference) {
+        VariableBinding binding = reference.isFunction()
+                ? container.getMethodBinding(reference.getName())
+                : container.getFieldBinding(reference.getName());
 
-    /**
-     * This checks of the method parameter is a float.
-     *
-     * @param val - The value to be checked.
-     * @return boolean
-     */
-    private boolean isFloat(String val) {
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            Float.parseFloat(val);
-        } catch (NumberFormatException e) {
-            return false;
+        if (binding == null) {
+            return null;
         }
-        return true;
-    }
 
-    /**
-     * This checks of the method parameter is a integer.
-     *
-     * @param val - The value to be checked.
-     * @return boolean
-     */
-    private boolean isInteger(String val) {
         try {
-            Integer.parseInt(val);
-        } catch (NumberFormatException e) {
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * This takes the variable and will return method name without the () or (params...) at the end.
-     *
-     * @param variable - The variable being parsed.
-     * @return String
-     */
-    private String parseMethodName(String variable) {
-        if (!hasMethodGotParams(variable)) {
-            return variable.replace("()", "");
+            String key = reference.isFunction() ? reference.getArguments() : "";
+            Object value = binding.get(key, () -> binding.convert(reference.getArgumentValues()));
+            if (value instanceof CompletionStage) {
+                value = Mono.fromFuture(((CompletionStage<?>) value).toCompletableFuture());
+            }
+            if (value instanceof Mono) {
+                return ((Mono<?>) value)
+                        .map(String::valueOf)
+                        .timeout(ASYNC_TIMEOUT)
+                        .onErrorResume(e -> {
+                            log.error("Unable to get the value of the variable: " + reference.getText(), e);
+                            return Mono.empty();
+                        });
+            }
+            return value != null ? value.toString() : null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.error("Unable to get the value of the variable: " + reference.getText(), e);
         }
-
-        return variable.replaceFirst("\\([a-zA-Z0-9()., ]+\\)", "");
-    }
-
-    /**
-     * This will return true if the variable being parsed has params.
-     *
-     * @param method - The variable / method being parsed.
-     * @return boolean
-     */
-    private boolean hasMethodGotParams(String method) {
-        return method.matches("[a-zA-Z0-9.]+\\([a-zA-Z0-9()., ]+\\)");
-    }
-
-    /**
-     * This will remove the tags that the variable strategy uses e.g. the DollarSignStrategy uses $() and it will remove that from the variable.
-     *
-     * @param variableStrategy - The variable strategy that determines the tags that are used and how the variable is parsed.
-     * @param commandResponse  - The command response that is made.
-     * @return String
-     */
-    private String removeAllVariableStrategyTags(VariableStrategy variableStrategy, String commandResponse) {
-        return variableStrategy.removeTagsFromString(commandResponse);
-    }
-
-
-    /**
-     * This will use the strategyProvided to parse the variables from the string that needs to be parsed.
-     *
-     * @param variableStrategy - The strategy in which to parse the variables.
-     * @param commandResponse  - The response from the command.
-     * @return String[]
-     */
-    private String[] findAllVariables(VariableStrategy variableStrategy, String commandResponse) {
-        return variableStrategy.parseAllVariables(commandResponse);
-    }
-
-    /**
-     * This is to determine what type of command variable it is.
-     *
-     * @param variable - The variable from the command response.
-     * @return int
-     */
-    private int getVariableType(String variable) {
-        return (variable.contains("(") && variable.contains(")")) ? FUNCTION : VARIABLE;
+        return null;
     }
 
     /**
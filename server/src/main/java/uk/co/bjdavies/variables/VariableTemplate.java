@@ -0,0 +1,299 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package uk.co.bjdavies.variables;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This is a response that has been split into literal text and variables, e.g. {@code "Hi $(name)!"} is the
+ * literal {@code "Hi "}, the variable {@code name} and the literal {@code "!"}.
+ * <p>
+ * A response is only split the first time it is seen, after that {@link #compile(String)} will return the same
+ * template from a cache so only {@link #render(Function)} is done for each response.
+ *
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+public final class VariableTemplate {
+
+    /**
+     * This is how many templates are kept, responses are usually the same few strings but a command that builds
+     * its response from user input would fill the cache with strings that are never seen again.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final Cache<String, VariableTemplate> templates = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_TEMPLATES)
+            .build();
+
+    /**
+     * Each segment is either a String or a {@link Reference}.
+     */
+    private final Object[] segments;
+
+    @Getter
+    private final List<Reference> references;
+
+    private final int literalLength;
+
+    private VariableTemplate(List<Object> segments, List<Reference> references, int literalLength) {
+        this.segments = segments.toArray();
+        this.references = Collections.unmodifiableList(references);
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * This will return the template for the response, a response without any variables is not cached.
+     *
+     * @param response - The response from the command.
+     * @return VariableTemplate
+     */
+    public static VariableTemplate compile(String response) {
+        if (response.indexOf("$(") < 0) {
+            return literal(response);
+        }
+
+        VariableTemplate template = templates.getIfPresent(response);
+        if (template == null) {
+            template = parse(response);
+            templates.put(response, template);
+        }
+        return template;
+    }
+
+    /**
+     * This will split the response into segments without using the cache.
+     *
+     * @param response - The response from the command.
+     * @return VariableTemplate
+     */
+    public static VariableTemplate parse(String response) {
+        List<Object> segments = new ArrayList<>();
+        List<Reference> references = new ArrayList<>();
+        int literalLength = 0;
+        int literalStart = 0;
+        int i = response.indexOf("$(");
+
+        while (i >= 0) {
+            Reference reference = parseReference(response, i);
+            if (reference == null) {
+                i = response.indexOf("$(", i + 1);
+                continue;
+            }
+
+            if (i > literalStart) {
+                segments.add(response.substring(literalStart, i));
+                literalLength += i - literalStart;
+            }
+            segments.add(reference);
+            references.add(reference);
+            literalStart = i + reference.getText().length() + 3;
+            i = response.indexOf("$(", literalStart);
+        }
+
+        if (literalStart < response.length()) {
+            segments.add(response.substring(literalStart));
+            literalLength += response.length() - literalStart;
+        }
+
+        return new VariableTemplate(segments, references, literalLength);
+    }
+
+    private static VariableTemplate literal(String response) {
+        return new VariableTemplate(Collections.singletonList(response), Collections.emptyList(), response.length());
+    }
+
+    /**
+     * This will read a variable starting at the {@code $(}, e.g. {@code $(name)} or {@code $(name(arg, arg))}
+     *
+     * @param response - The response from the command.
+     * @param start    - The index of the {@code $(}
+     * @return Reference or null if it is not a variable.
+     */
+    @Nullable
+    private static Reference parseReference(String response, int start) {
+        int i = start + 2;
+        int length = response.length();
+        while (i < length && isNameChar(response.charAt(i))) {
+            i++;
+        }
+        if (i == start + 2 || i >= length) {
+            return null;
+        }
+
+        String name = response.substring(start + 2, i);
+        char c = response.charAt(i);
+        if (c == ')') {
+            return new Reference(name, name, null);
+        }
+        if (c != '(') {
+            return null;
+        }
+
+        int close = i + 1;
+        boolean quoted = false;
+        while (close < length) {
+            char a = response.charAt(close);
+            if (a == '"') {
+                quoted = !quoted;
+            } else if (quoted && a == '\\') {
+                close++;
+            } else if (!quoted && (a == ')' || a == '(')) {
+                break;
+            }
+            close++;
+        }
+        if (close + 1 >= length || response.charAt(close) != ')' || response.charAt(close + 1) != ')') {
+            return null;
+        }
+
+        String text = response.substring(start + 2, close + 1);
+        return new Reference(name, text, response.substring(i + 1, close));
+    }
+
+    /**
+     * This will split the arguments of a function on each comma, e.g. {@code 2, "a, b", true} is {@code 2},
+     * {@code a, b} and {@code true}. Quotes are removed and spaces around an argument are ignored unless they are
+     * inside of quotes, a {@code \\} inside of quotes will keep the next character.
+     *
+     * @param arguments - The text between the brackets of the function.
+     * @return List - The text of each argument.
+     */
+    private static List<String> tokenize(String arguments) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        StringBuilder spaces = new StringBuilder();
+        boolean quoted = false;
+        boolean hasValue = false;
+
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c == '\\' && i + 1 < arguments.length() ? arguments.charAt(++i) : c);
+                }
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+                spaces.setLength(0);
+                hasValue = false;
+            } else if (Character.isWhitespace(c)) {
+                if (hasValue) {
+                    spaces.append(c);
+                }
+            } else {
+                value.append(spaces);
+                spaces.setLength(0);
+                hasValue = true;
+                if (c == '"') {
+                    quoted = true;
+                } else {
+                    value.append(c);
+                }
+            }
+        }
+
+        if (hasValue || !values.isEmpty()) {
+            values.add(value.toString());
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '_';
+    }
+
+    /**
+     * This will build the response by replacing each variable with its value.
+     *
+     * @param resolver - This will return the value of a variable or null to leave its text in the response.
+     * @return String
+     */
+    public String render(Function<Reference, String> resolver) {
+        if (references.isEmpty()) {
+            return segments.length == 0 ? "" : (String) segments[0];
+        }
+
+        StringBuilder sb = new StringBuilder(literalLength + references.size() * 16);
+        for (Object segment : segments) {
+            if (segment instanceof Reference) {
+                Reference reference = (Reference) segment;
+                String value = resolver.apply(reference);
+                sb.append(value != null ? value : reference.getText());
+            } else {
+                sb.append((String) segment);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * This is a variable inside of a template.
+     */
+    @Getter
+    public static final class Reference {
+        /**
+         * The name of the variable e.g. getRandomGIF
+         */
+        private final String name;
+
+        /**
+         * The text between the {@code $(} and {@code )} e.g. getRandomGIF(2)
+         */
+        private final String text;
+
+        /**
+         * The text between the brackets of a function e.g. 2, this is null if the variable is not a function.
+         */
+        @Nullable
+        private final String arguments;
+
+        /**
+         * The arguments of a function split when the template is compiled, this is empty if there are none.
+         */
+        private final List<String> argumentValues;
+
+        private Reference(String name, String text, @Nullable String arguments) {
+            this.name = name;
+            this.text = text;
+            this.arguments = arguments;
+            this.argumentValues = arguments != null ? tokenize(arguments) : Collections.emptyList();
+        }
+
+        public boolean isFunction() {
+            return arguments != null;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import uk.co.bjdavies.api.IApplication;
+import uk.co.bjdavies.api.command.ICommand;
+import uk.co.bjdavies.api.command.ICommandContext;
+import uk.co.bjdavies.api.config.ICommandConfig;
+import uk.co.bjdavies.api.config.IRateLimitConfig;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+class CommandExecutorTest {
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    private final Map<String, MonoProcessor<Void>> pending = new ConcurrentHashMap<>();
+
+    private CommandExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        pending.values().forEach(MonoProcessor::onComplete);
+        executor.shutdown();
+    }
+
+    @Test
+    void runsAtMostTheGuildCapUntilTheCommandsComplete() {
+        executor = new CommandExecutor(new TestConfig(4, 10, 2, "reject"));
+
+        executor.submit("guild", command("a"));
+        executor.submit("guild", command("b"));
+        executor.submit("guild", command("c"));
+        executor.submit("other", command("d"));
+
+        await(() -> started.size() == 3);
+        assertTrue(started.containsAll(List.of("a", "b", "d")));
+        assertEquals(3, executor.getRunningCount());
+        assertEquals(1, executor.getQueueDepth());
+
+        pending.get("a").onComplete();
+        await(() -> started.contains("c"));
+        assertEquals(1, executor.getCompletedCount());
+    }
+
+    @Test
+    void rejectDropsTheNewCommandWhenTheQueueIsFull() {
+        executor = new CommandExecutor(new TestConfig(4, 2, 1, "reject"));
+
+        assertTrue(executor.submit("guild", command("a")));
+        await(() -> started.contains("a"));
+        assertTrue(executor.submit("guild", command("b")));
+        assertTrue(executor.submit("other", command("c")));
+        await(() -> started.contains("c"));
+        assertTrue(executor.submit("other", command("d")));
+
+        assertFalse(executor.submit("guild", command("e")));
+        assertEquals(1, executor.getDroppedCount());
+        assertEquals(2, executor.getQueueDepth());
+
+        pending.get("a").onComplete();
+        await(() -> started.contains("b"));
+        assertFalse(started.contains("e"));
+    }
+
+    @Test
+    void dropOldestDropsTheOldestWaitingCommandFromTheSameGuild() {
+        executor = new CommandExecutor(new TestConfig(4, 2, 1, "drop-oldest"));
+
+        executor.submit("guild", command("a"));
+        await(() -> started.contains("a"));
+        executor.submit("guild", command("b"));
+        executor.submit("guild", command("c"));
+
+        assertTrue(executor.submit("guild", command("d")));
+        assertEquals(1, executor.getDroppedCount());
+        assertEquals(2, executor.getQueueDepth());
+
+        pending.get("a").onComplete();
+        await(() -> started.contains("c"));
+        pending.get("c").onComplete();
+        await(() -> started.contains("d"));
+        assertEquals(List.of("a", "c", "d"), started);
+    }
+
+    @Test
+    void dropOldestRejectsWhenTheGuildHasNothingWaiting() {
+        executor = new CommandExecutor(new TestConfig(4, 1, 1, "drop-oldest"));
+
+        executor.submit("guild", command("a"));
+        await(() -> started.contains("a"));
+        executor.submit("guild", command("b"));
+
+        assertFalse(executor.submit("other", command("c")));
+        assertEquals(1, executor.getDroppedCount());
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    @Test
+    void aFailedCommandReleasesItsSlot() {
+        executor = new CommandExecutor(new TestConfig(4, 10, 1, "reject"));
+
+        executor.submit("guild", scheduler -> Mono.error(new IllegalStateException("Expected")));
+        executor.submit("guild", scheduler -> {
+            throw new IllegalStateException("Expected");
+        });
+        executor.submit("guild", command("a"));
+
+        await(() -> started.contains("a"));
+        assertEquals(2, executor.getFailedCount());
+        assertEquals(1, executor.getRunningCount());
+    }
+
+    @Test
+    void commandsRunOnTheWorkersAfterAMiddlewareSwitchesThreads() {
+        executor = new CommandExecutor(new TestConfig(2, 10, 1, "reject"));
+        AtomicReference<String> middlewareThread = new AtomicReference<>();
+        AtomicReference<String> commandThread = new AtomicReference<>();
+        CommandDispatcher dispatcher = new CommandDispatcher();
+        dispatcher.addNamespace("", List.of(new ThreadCommand(commandThread)));
+        dispatcher.registerAsyncGlobalMiddleware(context -> Mono.fromCallable(() -> {
+            middlewareThread.set(Thread.currentThread().getName());
+            return true;
+        }).subscribeOn(Schedulers.boundedElastic()));
+
+        executor.submit("guild", scheduler -> dispatcher.execute(
+                message -> new CommandContext(message, new HashMap<>(), "", ThreadCommand.TYPE), "thread",
+                application(), scheduler));
+
+        await(() -> executor.getCompletedCount() == 1);
+        assertTrue(middlewareThread.get().startsWith("boundedElastic"), middlewareThread.get());
+        assertTrue(commandThread.get().startsWith("command-thread-"), commandThread.get());
+    }
+
+    private static IApplication application() {
+        return (IApplication) Proxy.newProxyInstance(IApplication.class.getClassLoader(),
+                new Class<?>[]{IApplication.class}, (proxy, method, args) -> null);
+    }
+
+    private Function<Scheduler, Mono<Void>> command(String name) {
+        return scheduler -> {
+            MonoProcessor<Void> processor = MonoProcessor.create();
+            pending.put(name, processor);
+            started.add(name);
+            return processor;
+        };
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the executor.");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static final class ThreadCommand implements ICommand {
+
+        private static final String TYPE = "Test";
+
+        private final AtomicReference<String> thread;
+
+        private ThreadCommand(AtomicReference<String> thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public String[] getAliases() {
+            return new String[]{"thread"};
+        }
+
+        @Override
+        public String[] getExamples() {
+            return new String[0];
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public String getUsage() {
+            return "thread";
+        }
+
+        @Override
+        public String getType() {
+            return TYPE;
+        }
+
+        @Override
+        @Deprecated
+        public String run(IApplication application, ICommandContext commandContext) {
+            return "";
+        }
+
+        @Override
+        public void exec(IApplication application, ICommandContext commandContext) {
+            thread.set(Thread.currentThread().getName());
+        }
+
+        @Override
+        public boolean validateUsage(ICommandContext commandContext) {
+            return true;
+        }
+    }
+
+    private static final class TestConfig implements ICommandConfig {
+        private final int workerThreads;
+        private final int queueSize;
+        private final int maxConcurrentPerGuild;
+        private final String overflowPolicy;
+
+        private TestConfig(int workerThreads, int queueSize, int maxConcurrentPerGuild, String overflowPolicy) {
+            this.workerThreads = workerThreads;
+            this.queueSize = queueSize;
+            this.maxConcurrentPerGuild = maxConcurrentPerGuild;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        @Override
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        @Override
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        @Override
+        public int getMaxConcurrentPerGuild() {
+            return maxConcurrentPerGuild;
+        }
+
+        @Override
+        public String getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        @Override
+        public long getResponseBatchWindowMillis() {
+            return 0;
+        }
+
+        @Override
+        public IRateLimitConfig getRateLimitConfig() {
+            return null;
+        }
+    }
+}
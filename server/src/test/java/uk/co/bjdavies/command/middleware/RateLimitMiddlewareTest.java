@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.command.middleware;
+
+import org.junit.jupiter.api.Test;
+import uk.co.bjdavies.api.config.ICommandConfig;
+import uk.co.bjdavies.api.config.IRateLimitConfig;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+class RateLimitMiddlewareTest {
+
+    private static final long NOW = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    void aCommandRejectedByItsBucketGivesBackTheUserAndGuildTokens() {
+        RateLimitMiddleware middleware = new RateLimitMiddleware(new TestConfig(1, 2, 1));
+
+        assertTrue(middleware.tryAcquire("a", "guild", "ping", NOW));
+        assertFalse(middleware.tryAcquire("b", "guild", "ping", NOW));
+
+        assertTrue(middleware.tryAcquire("b", "guild", "help", NOW));
+    }
+
+    @Test
+    void aGuildRejectionGivesBackTheUserToken() {
+        RateLimitMiddleware middleware = new RateLimitMiddleware(new TestConfig(1, 1, 5));
+
+        assertTrue(middleware.tryAcquire("a", "guild", "ping", NOW));
+        assertFalse(middleware.tryAcquire("b", "guild", "ping", NOW));
+
+        assertTrue(middleware.tryAcquire("b", "other", "ping", NOW));
+    }
+
+    @Test
+    void anEmptyBucketRefills() {
+        RateLimitMiddleware middleware = new RateLimitMiddleware(new TestConfig(1, 5, 5));
+
+        assertTrue(middleware.tryAcquire("a", "guild", "ping", NOW));
+        assertFalse(middleware.tryAcquire("a", "guild", "ping", NOW));
+
+        assertTrue(middleware.tryAcquire("a", "guild", "ping", NOW + TimeUnit.MINUTES.toNanos(1)));
+    }
+
+    private static final class TestConfig implements ICommandConfig, IRateLimitConfig {
+        private final int userCapacity;
+        private final int guildCapacity;
+        private final int commandCapacity;
+
+        private TestConfig(int userCapacity, int guildCapacity, int commandCapacity) {
+            this.userCapacity = userCapacity;
+            this.guildCapacity = guildCapacity;
+            this.commandCapacity = commandCapacity;
+        }
+
+        @Override
+        public int getWorkerThreads() {
+            return 1;
+        }
+
+        @Override
+        public int getQueueSize() {
+            return 1;
+        }
+
+        @Override
+        public int getMaxConcurrentPerGuild() {
+            return 1;
+        }
+
+        @Override
+        public String getOverflowPolicy() {
+            return "reject";
+        }
+
+        @Override
+        public long getResponseBatchWindowMillis() {
+            return 0;
+        }
+
+        @Override
+        public IRateLimitConfig getRateLimitConfig() {
+            return this;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMaxBuckets() {
+            return 100;
+        }
+
+        @Override
+        public ILimit getUserLimit() {
+            return limit(userCapacity);
+        }
+
+        @Override
+        public ILimit getGuildLimit() {
+            return limit(guildCapacity);
+        }
+
+        @Override
+        public ILimit getCommandLimit() {
+            return limit(commandCapacity);
+        }
+
+        private static ILimit limit(int capacity) {
+            return new ILimit() {
+                @Override
+                public int getCapacity() {
+                    return capacity;
+                }
+
+                @Override
+                public int getRefillPerMinute() {
+                    return 1;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+class ConnectionPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<Connection> opened = new CopyOnWriteArrayList<>();
+
+    @Test
+    void aFailedOpenGivesBackItsPermit() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        ConnectionPool pool = new ConnectionPool("test", 1, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new SQLException("Expected");
+            }
+            return open();
+        });
+
+        assertThrows(SQLException.class, () -> pool.withConnection(c -> c));
+        assertTimeoutPreemptively(TIMEOUT, () -> assertNotNull(pool.withConnection(c -> c)));
+        pool.close();
+    }
+
+    @Test
+    void failedWorkGivesBackItsConnection() throws SQLException {
+        ConnectionPool pool = new ConnectionPool("test", 1, this::open);
+
+        assertThrows(IllegalStateException.class, () -> pool.withConnection(c -> {
+            throw new IllegalStateException("Expected");
+        }));
+        Connection connection = assertTimeoutPreemptively(TIMEOUT, () -> pool.withConnection(c -> c));
+
+        assertSame(opened.get(0), connection);
+        assertEquals(1, opened.size());
+        pool.close();
+    }
+
+    @Test
+    void aClosedConnectionIsReplaced() throws SQLException {
+        ConnectionPool pool = new ConnectionPool("test", 1, this::open);
+
+        pool.withConnection(c -> {
+            c.close();
+            return null;
+        });
+        Connection connection = pool.withConnection(c -> c);
+
+        assertEquals(2, opened.size());
+        assertSame(opened.get(1), connection);
+        assertFalse(connection.isClosed());
+        pool.close();
+    }
+
+    @Test
+    void closingThePoolClosesACheckedOutConnectionOnceItIsGivenBack() throws Exception {
+        ConnectionPool pool = new ConnectionPool("test", 2, this::open);
+        CountDownLatch checkedOut = new CountDownLatch(1);
+        CountDownLatch giveBack = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> inUse = executor.submit(() -> pool.withConnection(c -> {
+                checkedOut.countDown();
+                await(giveBack);
+                return c;
+            }));
+            assertTrue(checkedOut.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            Connection idle = pool.withConnection(c -> c);
+
+            pool.close();
+            assertTrue(idle.isClosed());
+            assertFalse(opened.get(0).isClosed());
+
+            giveBack.countDown();
+            assertTrue(inUse.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).isClosed());
+            assertThrows(SQLException.class, () -> pool.withConnection(c -> c));
+        } finally {
+            giveBack.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws SQLException {
+        try {
+            if (!latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for the test.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        opened.add(connection);
+        return connection;
+    }
+}
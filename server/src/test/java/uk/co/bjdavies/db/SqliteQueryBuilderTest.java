@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Ben Davies
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package uk.co.bjdavies.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.co.bjdavies.api.config.IDatabaseConfig;
+import uk.co.bjdavies.api.db.Comparator;
+import uk.co.bjdavies.api.db.IConnection;
+import uk.co.bjdavies.api.db.IDBRecord;
+import uk.co.bjdavies.api.db.IQueryBuilder;
+import uk.co.bjdavies.api.db.ISQLCommand;
+import uk.co.bjdavies.db.impl.SqliteConnection;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author ben.davies99@outlook.com (Ben Davies)
+ * @since 2.2.0
+ */
+class SqliteQueryBuilderTest {
+
+    private IConnection connection;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) throws SQLException {
+        connection = SqliteConnection.create(new TestConfig(directory.resolve("test.db").toString()));
+        connection.write(c -> {
+            try (Statement statement = c.createStatement()) {
+                return statement.execute(
+                        "CREATE TABLE people (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT, age INTEGER)");
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("name", "person\"" + i);
+            values.put("age", 10 + i * 5);
+            assertTrue(connection.createCommandBuilder("people").insert(values));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    @Test
+    void whereValuesAreBoundInsteadOfSplicedIn() {
+        String value = "x\" OR \"1\"=\"1";
+        ISQLCommand command = people().where("name", value).buildQuery();
+
+        assertFalse(command.getSQL().contains(value), command.getSQL());
+        assertEquals(List.of(value), command.getValues());
+        assertTrue(people().where("name", value).get().isEmpty());
+        assertEquals(List.of("person\"2"), names(people().where("name", "person\"2").get()));
+    }
+
+    @Test
+    void everyComparatorRendersValidSql() {
+        assertEquals(3, people().where("name", Comparator.LIKE, "person\"_")
+                .where("age", Comparator.GREATER_THAN, 15).get().size());
+        assertEquals(2, people().where("age", Comparator.NOT_EQUALS, 20)
+                .where("age", Comparator.LESS_THAN_OR_EQUAL_TO, 25)
+                .where("age", Comparator.GREATER_THAN_OR_EQUAL_TO, 15).get().size());
+        assertEquals(1, people().where("age", Comparator.LESS_THAN, 15).get().size());
+        assertTrue(people().where("name", Comparator.NOT_LIKE, "person%").get().isEmpty());
+    }
+
+    @Test
+    void aDeleteWithALikeFilterOnlyRemovesTheMatchingRows() {
+        assertTrue(connection.createCommandBuilder("people").where("name", Comparator.LIKE, "%3").delete());
+
+        assertEquals(4, people().count());
+    }
+
+    @Test
+    void countAndExistsRunInTheDatabase() {
+        assertEquals(5, people().count());
+        assertEquals(3, people().where("age", Comparator.GREATER_THAN, 18).count());
+        assertEquals(2, people().limit(2).count());
+        assertTrue(people().where("name", "person\"3").exists());
+        assertTrue(people().where("name", "nobody").doesntExist());
+    }
+
+    @Test
+    void aggregatesOnlyCoverTheLimitedRows() {
+        assertEquals(100, people().sum("age").longValue());
+        assertEquals(55, people().orderBy("age").reverse().limit(2).sum("age").longValue());
+        assertEquals(0, people().where("name", "nobody").sum("age").longValue());
+        assertEquals(Optional.of(10), people().min("age").map(v -> ((Number) v).intValue()));
+        assertEquals(Optional.of(30), people().max("age").map(v -> ((Number) v).intValue()));
+        assertEquals(Optional.empty(), people().where("name", "nobody").max("age"));
+    }
+
+    @Test
+    void insertGetIdReturnsTheKeyOfTheNewRowAfterADelete() {
+        assertTrue(connection.createCommandBuilder("people").where("id", 5).delete());
+
+        int id = connection.createCommandBuilder("people").insertGetId(Collections.singletonMap("name", "new"));
+
+        assertEquals(6, id);
+        assertEquals(Optional.of("new"), people().where("id", id).first().map(r -> r.getString("name")));
+    }
+
+    private IQueryBuilder<IDBRecord> people() {
+        return connection.<IDBRecord>createQueryBuilder("people", "id").select("*");
+    }
+
+    private static List<String> names(List<IDBRecord> records) {
+        return records.stream().map(r -> r.getString("name")).collect(Collectors.toList());
+    }
+
+    private static final class TestConfig implements IDatabaseConfig {
+        private final String database;
+
+        private TestConfig(String database) {
+            this.database = database;
+        }
+
+        @Override
+        public String getType() {
+            return "sqlite";
+        }
+
+        @Override
+        public String getUsername() {
+            return null;
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public String getHostname() {
+            return null;
+        }
+
+        @Override
+        public String getPort() {
+            return null;
+        }
+
+        @Override
+        public String getDatabase() {
+            return database;
+        }
+
+        @Override
+        public int getPoolSize() {
+            return 2;
+        }
+    }
+}